@@ -0,0 +1,138 @@
+package com.taskmanager.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roteamento leitura/escrita entre o banco primário e réplicas de leitura.
+ * Ativado com datasource.routing.enabled=true; sem isso o DataSource padrão
+ * do Spring Boot (apenas primário) é usado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.maximum-pool-size:10}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${datasource.replicas.connection-timeout-ms:5000}")
+    private long replicaConnectionTimeoutMs;
+
+    @Value("${datasource.replicas.retry-after-seconds:30}")
+    private long replicaRetryAfterSeconds;
+
+    /**
+     * Executa as migrações também nas réplicas (apenas para desenvolvimento,
+     * quando a réplica é um banco H2 independente)
+     */
+    @Value("${datasource.replicas.migrate:false}")
+    private boolean migrateReplicas;
+
+    @Value("${spring.flyway.locations:classpath:db/migration/{vendor}}")
+    private String[] flywayLocations;
+
+    @Value("${datasource.routing.read-your-writes-seconds:0}")
+    private long readYourWritesSeconds;
+
+    @Value("${datasource.routing.max-tracked-users:10000}")
+    private int maxTrackedUsers;
+
+    /**
+     * Pool do banco primário, configurado por spring.datasource.* e spring.datasource.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Roteamento entre o primário e as réplicas configuradas em datasource.replicas.urls.
+     * O primário é recebido como DataSource: com threads virtuais ele chega envolvido
+     * pelo limitador de concorrência.
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                        DataSourceProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                String name = "replica-" + (replicas.size() + 1);
+                replicas.put(name, replica(name, url.trim(), properties.determineDriverClassName()));
+            }
+        }
+
+        return new ReadWriteRoutingDataSource(
+                primaryDataSource,
+                replicas,
+                replicaRetryAfterSeconds,
+                readYourWritesSeconds,
+                maxTrackedUsers,
+                meterRegistry);
+    }
+
+    /**
+     * DataSource usado pelo JPA e pelo Flyway. O proxy adia a obtenção da conexão
+     * até o primeiro comando, quando o flag somente-leitura da transação já está definido.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private DataSource replica(String name, String url, String driverClassName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(replicaUsername);
+        dataSource.setPassword(replicaPassword);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(replicaMaximumPoolSize);
+        dataSource.setConnectionTimeout(replicaConnectionTimeoutMs);
+        // Não falha a inicialização se a réplica estiver fora: o roteamento usa o primário
+        dataSource.setInitializationFailTimeout(-1);
+
+        if (migrateReplicas) {
+            String vendor = DatabaseDriver.fromJdbcUrl(url).getId();
+            Flyway.configure()
+                    .dataSource(url, replicaUsername, replicaPassword)
+                    .locations(Arrays.stream(flywayLocations)
+                            .map(location -> location.replace("{vendor}", vendor))
+                            .toArray(String[]::new))
+                    .load()
+                    .migrate();
+        }
+        return dataSource;
+    }
+}
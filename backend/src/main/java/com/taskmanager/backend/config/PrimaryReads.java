@@ -0,0 +1,44 @@
+package com.taskmanager.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Executa no banco primário as consultas que alimentam os caches em memória.
+ * Com o roteamento leitura/escrita ativo, uma transação somente-leitura pode ir
+ * para uma réplica atrasada; o resultado seria guardado no cache como atual e
+ * servido até a próxima alteração. A consulta roda em uma transação própria
+ * (somente-leitura) que o ReadWriteRoutingDataSource envia ao primário.
+ * Sem roteamento a consulta é executada diretamente, na transação corrente.
+ */
+@Component
+public class PrimaryReads {
+
+    private final boolean routingEnabled;
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryReads(@Value("${datasource.routing.enabled:false}") boolean routingEnabled,
+                        PlatformTransactionManager transactionManager) {
+        this.routingEnabled = routingEnabled;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Executa a consulta lendo do primário
+     * @param query Consulta a executar
+     * @return Resultado da consulta
+     */
+    public <T> T read(Supplier<T> query) {
+        if (!routingEnabled) {
+            return query.get();
+        }
+        return ReadWriteRoutingDataSource.onPrimary(() -> transactionTemplate.execute(status -> query.get()));
+    }
+}
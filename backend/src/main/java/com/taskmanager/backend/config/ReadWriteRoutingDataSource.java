@@ -0,0 +1,245 @@
+package com.taskmanager.backend.config;
+
+import com.taskmanager.backend.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que envia transações somente-leitura para as réplicas e as demais
+ * operações para o primário.
+ * As réplicas são usadas em rodízio; uma réplica que falha ao fornecer conexão
+ * fica fora do rodízio pelo tempo configurado e a leitura segue para a próxima
+ * (ou para o primário, se nenhuma estiver disponível).
+ * Opcionalmente, após uma escrita confirmada o usuário lê do primário durante
+ * uma janela de tempo (read-your-writes), para não ver dados ainda não replicados.
+ * Leituras executadas com onPrimary (as que alimentam caches) sempre vão para o primário.
+ * Deve ser usado atrás de um LazyConnectionDataSourceProxy, para que a conexão
+ * seja obtida depois que o flag somente-leitura da transação foi definido.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long retryAfterMillis;
+    private final long readYourWritesMillis;
+    private final Map<Long, Long> lastWriteByUser;
+
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+    private final Counter fallbackCounter;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      Map<String, DataSource> replicas,
+                                      long retryAfterSeconds,
+                                      long readYourWritesSeconds,
+                                      int maxTrackedUsers,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.retryAfterMillis = retryAfterSeconds * 1000;
+        this.readYourWritesMillis = readYourWritesSeconds * 1000;
+        this.lastWriteByUser = Collections.synchronizedMap(new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxTrackedUsers;
+            }
+        });
+
+        this.primaryCounter = connections(meterRegistry, "primary");
+        this.replicaCounter = connections(meterRegistry, "replica");
+        this.fallbackCounter = connections(meterRegistry, "fallback");
+        Gauge.builder("datasource.replicas.available", this, ReadWriteRoutingDataSource::availableReplicas)
+                .description("Réplicas de leitura disponíveis no rodízio")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa uma ação cujas conexões somente-leitura são obtidas do primário.
+     * A conexão é escolhida no primeiro comando, portanto a transação deve ser
+     * iniciada dentro da ação.
+     * @param action Ação a executar
+     * @return Resultado da ação
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = primaryReads.get();
+        primaryReads.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                primaryReads.remove();
+            } else {
+                primaryReads.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isReadOnlyTransaction()) {
+            return primaryConnection(null, null);
+        }
+        if (primaryReads.get() != null) {
+            return primaryReadConnection(null, null);
+        }
+        Long userId = currentUserId();
+        if (userId != null && wroteRecently(userId)) {
+            return primaryConnection(null, null);
+        }
+        return readConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!isReadOnlyTransaction()) {
+            return primaryConnection(username, password);
+        }
+        if (primaryReads.get() != null) {
+            return primaryReadConnection(username, password);
+        }
+        return readConnection(username, password);
+    }
+
+    /**
+     * Número de réplicas atualmente no rodízio de leitura
+     * @return Réplicas disponíveis
+     */
+    public int availableReplicas() {
+        long now = System.currentTimeMillis();
+        return (int) replicas.stream().filter(replica -> replica.downUntil <= now).count();
+    }
+
+    /**
+     * Fecha os pools das réplicas (o primário é gerenciado pelo Spring)
+     */
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection readConnection(String username, String password) throws SQLException {
+        int count = replicas.size();
+        if (count > 0) {
+            long now = System.currentTimeMillis();
+            int start = Math.floorMod(next.getAndIncrement(), count);
+            for (int i = 0; i < count; i++) {
+                Replica replica = replicas.get((start + i) % count);
+                if (replica.downUntil > now) {
+                    continue;
+                }
+                try {
+                    Connection connection = username == null
+                            ? replica.dataSource.getConnection()
+                            : replica.dataSource.getConnection(username, password);
+                    replicaCounter.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.downUntil = System.currentTimeMillis() + retryAfterMillis;
+                    logger.warn("Réplica {} indisponível, removida do rodízio por {} ms: {}",
+                            replica.name, retryAfterMillis, e.getMessage());
+                }
+            }
+            fallbackCounter.increment();
+        }
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    private Connection primaryConnection(String username, String password) throws SQLException {
+        Connection connection = username == null ? primary.getConnection() : primary.getConnection(username, password);
+        primaryCounter.increment();
+        if (readYourWritesMillis > 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long userId = currentUserId();
+            if (userId != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteByUser.put(userId, System.currentTimeMillis());
+                    }
+                });
+            }
+        }
+        return connection;
+    }
+
+    private Connection primaryReadConnection(String username, String password) throws SQLException {
+        Connection connection = username == null ? primary.getConnection() : primary.getConnection(username, password);
+        primaryCounter.increment();
+        return connection;
+    }
+
+    private boolean wroteRecently(Long userId) {
+        if (readYourWritesMillis <= 0) {
+            return false;
+        }
+        Long lastWrite = lastWriteByUser.get(userId);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (lastWrite + readYourWritesMillis <= System.currentTimeMillis()) {
+            lastWriteByUser.remove(userId, lastWrite);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isReadOnlyTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Conexões obtidas pelo roteamento leitura/escrita")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long downUntil;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
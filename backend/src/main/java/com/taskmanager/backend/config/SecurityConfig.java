@@ -1,9 +1,15 @@
 package com.taskmanager.backend.config;
 
+import com.taskmanager.backend.controller.TaskController;
+import com.taskmanager.backend.security.BoundedPasswordEncoder;
 import com.taskmanager.backend.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -26,9 +32,27 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Value("${security.password-hashing.threads:2}")
+    private int passwordHashingThreads;
+    
+    @Value("${security.password-hashing.queue-capacity:32}")
+    private int passwordHashingQueueCapacity;
+    
+    @Value("${security.password-hashing.retry-after-seconds:2}")
+    private long passwordHashingRetryAfterSeconds;
+    
+    /**
+     * BCrypt executado em pool próprio e limitado, para que picos de login
+     * não esgotem as threads que atendem as demais rotas
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                passwordHashingThreads,
+                passwordHashingQueueCapacity,
+                passwordHashingRetryAfterSeconds,
+                meterRegistry);
     }
     
     @Bean
@@ -42,6 +66,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Conclusão de respostas assíncronas (ex.: exportação em streaming) já autorizadas no REQUEST
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll() // Para testes com H2
@@ -59,8 +85,11 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(
+                TaskController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, HttpHeaders.CONTENT_DISPOSITION,
+                HttpHeaders.RETRY_AFTER));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
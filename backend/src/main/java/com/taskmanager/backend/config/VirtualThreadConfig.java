@@ -0,0 +1,113 @@
+package com.taskmanager.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Modo de execução com threads virtuais (Java 21+, spring.threads.virtual.enabled=true).
+ * O Spring Boot passa a atender as requisições do Tomcat e as tarefas assíncronas em
+ * threads virtuais; esta configuração limita o acesso ao banco ao tamanho do pool de
+ * conexões e registra as ocorrências de pinning (thread virtual presa à thread de
+ * plataforma durante uma operação bloqueante).
+ * Em Java 17 ou com a propriedade desativada nada aqui é criado.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Envolve o pool do banco primário com o limitador de concorrência: o bean dataSource
+     * sem roteamento, ou primaryDataSource com roteamento leitura/escrita. O dataSource
+     * roteado não é envolvido, para que leituras nas réplicas não ocupem permissões do primário.
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxConcurrent = environment.getProperty("datasource.limiter.max-concurrent", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long acquireTimeoutMillis = environment.getProperty("datasource.limiter.acquire-timeout-ms", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && ("dataSource".equals(beanName) || "primaryDataSource".equals(beanName))) {
+                    return new ConcurrencyLimitedDataSource(
+                            dataSource, maxConcurrent, acquireTimeoutMillis, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMillis,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMillis), meterRegistry);
+    }
+
+    /**
+     * Consome os eventos jdk.VirtualThreadPinned do JFR: incrementa a métrica
+     * jvm.threads.virtual.pinned e registra no log o topo da pilha onde ocorreu
+     */
+    public static class VirtualThreadPinningMonitor implements DisposableBean {
+
+        private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+        private static final int LOGGED_FRAMES = 8;
+
+        private final RecordingStream stream;
+
+        public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+            Counter pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                    .description("Operações em que uma thread virtual ficou presa à thread de plataforma")
+                    .register(meterRegistry);
+
+            this.stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedCounter.increment();
+                logger.warn("Thread virtual presa por {} ms:\n{}", event.getDuration().toMillis(), topFrames(event));
+            });
+            stream.startAsync();
+        }
+
+        @Override
+        public void destroy() {
+            stream.close();
+        }
+
+        private static String topFrames(RecordedEvent event) {
+            RecordedStackTrace stackTrace = event.getStackTrace();
+            if (stackTrace == null) {
+                return "    (pilha indisponível)";
+            }
+            return stackTrace.getFrames().stream()
+                    .limit(LOGGED_FRAMES)
+                    .map(RecordedFrame::getMethod)
+                    .map(method -> "    at " + method.getType().getName() + "." + method.getName())
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+}
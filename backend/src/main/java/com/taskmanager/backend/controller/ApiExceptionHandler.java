@@ -0,0 +1,47 @@
+package com.taskmanager.backend.controller;
+
+import com.taskmanager.backend.security.PasswordHashingRejectedException;
+import com.taskmanager.backend.service.InvalidTaskQueryException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tratamento de exceções comum a todos os controllers
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+    
+    /**
+     * Fila de hashing de senhas cheia: 503 com Retry-After para o cliente tentar de novo
+     * @param e Exceção com o tempo sugerido de espera
+     * @return Resposta 503
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingRejected(PasswordHashingRejectedException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Serviço temporariamente indisponível");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
+    
+    /**
+     * Critérios de busca inválidos (ordenação, intervalo de datas)
+     * @param e Exceção com a descrição do problema
+     * @return Resposta 400
+     */
+    @ExceptionHandler(InvalidTaskQueryException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidTaskQuery(InvalidTaskQueryException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Parâmetro inválido");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+}
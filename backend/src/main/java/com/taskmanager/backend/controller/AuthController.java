@@ -1,10 +1,15 @@
 package com.taskmanager.backend.controller;
 
 import com.taskmanager.backend.dto.*;
-import com.taskmanager.backend.entity.User;
-import com.taskmanager.backend.security.CustomUserDetailsService;
 import com.taskmanager.backend.security.JwtUtil;
+import com.taskmanager.backend.security.PasswordHashingRejectedException;
+import com.taskmanager.backend.security.TokenRevocationRegistry;
+import com.taskmanager.backend.security.UserAccountDetails;
+import com.taskmanager.backend.security.VerifiedToken;
+import com.taskmanager.backend.security.VerifiedTokenCache;
+import com.taskmanager.backend.service.CachedUser;
 import com.taskmanager.backend.service.UserService;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,7 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -30,10 +35,13 @@ public class AuthController {
     private UserService userService;
     
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private JwtUtil jwtUtil;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache tokenCache;
+    
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
     
     /**
      * Endpoint para login de usuário
@@ -43,20 +51,17 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
         try {
-            // Autenticar usuário
-            authenticationManager.authenticate(
+            // Autenticar usuário; a cópia carregada na verificação da senha é reaproveitada
+            Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                     loginRequest.getEmail(), 
                     loginRequest.getPassword()
                 )
             );
-            
-            // Carregar detalhes do usuário
-            UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getEmail());
-            User user = userDetailsService.loadUserEntityByEmail(loginRequest.getEmail());
+            CachedUser user = ((UserAccountDetails) authentication.getPrincipal()).getUser();
             
             // Gerar token JWT
-            String jwt = jwtUtil.generateToken(userDetails, user.getId(), user.getName());
+            String jwt = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getName());
             
             // Criar DTO do usuário
             UserDTO userDTO = new UserDTO(
@@ -72,6 +77,9 @@ public class AuthController {
             
             return ResponseEntity.ok(authResponse);
             
+        } catch (PasswordHashingRejectedException e) {
+            // Tratada em ApiExceptionHandler (503 + Retry-After)
+            throw e;
         } catch (BadCredentialsException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Credenciais inválidas");
@@ -96,18 +104,17 @@ public class AuthController {
             // Criar usuário
             UserDTO userDTO = userService.createUser(registerRequest);
             
-            // Autenticar o usuário recém-criado
-            UserDetails userDetails = userDetailsService.loadUserByUsername(registerRequest.getEmail());
-            User user = userDetailsService.loadUserEntityByEmail(registerRequest.getEmail());
-            
-            // Gerar token JWT
-            String jwt = jwtUtil.generateToken(userDetails, user.getId(), user.getName());
+            // Gerar token JWT a partir do usuário recém-criado
+            String jwt = jwtUtil.generateToken(userDTO.getEmail(), userDTO.getId(), userDTO.getName());
             
             // Retornar resposta de autenticação
             AuthResponse authResponse = new AuthResponse(jwt, userDTO, "Usuário registrado com sucesso");
             
             return ResponseEntity.status(HttpStatus.CREATED).body(authResponse);
             
+        } catch (PasswordHashingRejectedException e) {
+            // Tratada em ApiExceptionHandler (503 + Retry-After)
+            throw e;
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Erro de validação");
@@ -132,16 +139,13 @@ public class AuthController {
             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
                 String token = authorizationHeader.substring(7);
                 
-                if (jwtUtil.isTokenValid(token)) {
-                    String email = jwtUtil.extractUsername(token);
-                    Long userId = jwtUtil.extractUserId(token);
-                    String name = jwtUtil.extractName(token);
-                    
+                VerifiedToken verified = resolveToken(token);
+                if (verified != null) {
                     Map<String, Object> response = new HashMap<>();
                     response.put("valid", true);
-                    response.put("email", email);
-                    response.put("userId", userId);
-                    response.put("name", name);
+                    response.put("email", verified.getEmail());
+                    response.put("userId", verified.getUserId());
+                    response.put("name", verified.getName());
                     
                     return ResponseEntity.ok(response);
                 }
@@ -162,6 +166,25 @@ public class AuthController {
         }
     }
     
+    /**
+     * Resolve o token pelo cache de tokens verificados, com a mesma verificação
+     * de revogação feita pelo JwtAuthenticationFilter
+     * @param token Token JWT
+     * @return VerifiedToken ou null se inválido/expirado/revogado
+     */
+    private VerifiedToken resolveToken(String token) {
+        VerifiedToken verified;
+        try {
+            verified = tokenCache.resolve(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (verified != null && revocationRegistry.isRevoked(verified.getUserId(), verified.getIssuedAt())) {
+            return null;
+        }
+        return verified;
+    }
+    
     /**
      * Endpoint para logout (invalidação do token no lado cliente)
      * @return Mensagem de logout
@@ -1,70 +1,124 @@
 package com.taskmanager.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskmanager.backend.dto.BulkTaskRequest;
 import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.TaskPage;
+import com.taskmanager.backend.dto.TaskQuery;
+import com.taskmanager.backend.dto.TaskStats;
 import com.taskmanager.backend.entity.Task;
-import com.taskmanager.backend.security.JwtUtil;
+import com.taskmanager.backend.security.AuthenticatedUser;
+import com.taskmanager.backend.service.InvalidCursorException;
+import com.taskmanager.backend.service.TaskChangeCursorExpiredException;
+import com.taskmanager.backend.service.TaskExportService;
 import com.taskmanager.backend.service.TaskService;
+import com.taskmanager.backend.service.TaskVersionConflictException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntSupplier;
 
 @RestController
 @RequestMapping("/api/tasks")
 @CrossOrigin(origins = "*")
 public class TaskController {
     
+    /**
+     * Header com o cursor da próxima página (ausente na última página)
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     @Autowired
     private TaskService taskService;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private TaskExportService taskExportService;
+    
+    @Autowired
+    private TaskEventStream eventStream;
     
     /**
-     * Extrai o ID do usuário do token JWT
-     * @param authorizationHeader Header Authorization
-     * @return ID do usuário
+     * Busca as tarefas do usuário autenticado, com as ocorrências das séries
+     * recorrentes, paginadas por cursor
+     * @param cursor Cursor da próxima página (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
+     * @return Página de tarefas (cursor seguinte no header X-Next-Cursor)
      */
-    private Long extractUserIdFromToken(String authorizationHeader) {
-        String token = authorizationHeader.substring(7); // Remove "Bearer "
-        return jwtUtil.extractUserId(token);
+    @GetMapping
+    public ResponseEntity<List<TaskDTO>> getAllTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        TaskPage page = taskService.findAllByUser(userId, cursor, size);
+        return pageResponse(page);
     }
     
     /**
-     * Busca todas as tarefas do usuário autenticado
-     * @param authorizationHeader Header Authorization com token
-     * @return Lista de tarefas
+     * Busca tarefas combinando filtros em uma única consulta paginada.
+     * Ex.: /api/tasks/query?startDate=2024-01-01&endDate=2024-01-31&completed=false&priority=HIGH&priority=URGENT&sort=desc
+     * @param query Critérios (startDate, endDate, completed, priority, category, title, sort)
+     * @param cursor Cursor da próxima página (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
+     * @return Página de tarefas (cursor seguinte no header X-Next-Cursor)
      */
-    @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks(@RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
-        List<TaskDTO> tasks = taskService.findAllByUser(userId);
-        return ResponseEntity.ok(tasks);
+    @GetMapping("/query")
+    public ResponseEntity<List<TaskDTO>> queryTasks(
+            @ModelAttribute TaskQuery query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        TaskPage page = taskService.query(userId, query, cursor, size);
+        return pageResponse(page);
     }
     
     /**
      * Busca tarefa por ID
      * @param id ID da tarefa
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
      * @return Tarefa encontrada
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getTaskById(@PathVariable Long id,
-                                        @RequestHeader("Authorization") String authorizationHeader) {
+                                        @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            Long userId = extractUserIdFromToken(authorizationHeader);
+            Long userId = currentUser.getId();
             Optional<TaskDTO> task = taskService.findById(id, userId);
             
             if (task.isPresent()) {
-                return ResponseEntity.ok(task.get());
+                // ETag com a versão: If-None-Match é respondido com 304 e o valor serve de If-Match nas escritas
+                return ResponseEntity.ok().eTag(versionETag(task.get().getVersion())).body(task.get());
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Tarefa não encontrada");
@@ -80,55 +134,79 @@ public class TaskController {
     /**
      * Busca tarefas por data específica
      * @param date Data da tarefa
-     * @param authorizationHeader Header Authorization com token
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
      * @return Lista de tarefas na data especificada
      */
     @GetMapping("/date/{date}")
     public ResponseEntity<List<TaskDTO>> getTasksByDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
         List<TaskDTO> tasks = taskService.findByUserAndDate(userId, date);
         return ResponseEntity.ok(tasks);
     }
     
     /**
-     * Busca tarefas em um período
+     * Busca tarefas em um período, com as ocorrências das séries recorrentes
      * @param startDate Data inicial
      * @param endDate Data final
-     * @param authorizationHeader Header Authorization com token
-     * @return Lista de tarefas no período
+     * @param cursor Cursor da próxima página (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
+     * @return Página de tarefas no período
      */
     @GetMapping("/period")
     public ResponseEntity<List<TaskDTO>> getTasksByPeriod(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
-        List<TaskDTO> tasks = taskService.findByUserAndDateRange(userId, startDate, endDate);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        TaskPage page = taskService.findByUserAndDateRange(userId, startDate, endDate, cursor, size);
+        return pageResponse(page);
     }
     
     /**
      * Busca tarefas da semana atual
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
+     * @param request Requisição (If-None-Match)
      * @return Lista de tarefas da semana
      */
     @GetMapping("/week")
-    public ResponseEntity<List<TaskDTO>> getTasksForCurrentWeek(@RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
+    public ResponseEntity<List<TaskDTO>> getTasksForCurrentWeek(@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                                WebRequest request) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId, LocalDate.now())) {
+            return null;
+        }
         List<TaskDTO> tasks = taskService.findTasksForCurrentWeek(userId);
         return ResponseEntity.ok(tasks);
     }
     
     /**
      * Busca tarefas do mês atual
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
+     * @param request Requisição (If-None-Match)
      * @return Lista de tarefas do mês
      */
     @GetMapping("/month")
-    public ResponseEntity<List<TaskDTO>> getTasksForCurrentMonth(@RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
+    public ResponseEntity<List<TaskDTO>> getTasksForCurrentMonth(@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                                 WebRequest request) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId, LocalDate.now())) {
+            return null;
+        }
         List<TaskDTO> tasks = taskService.findTasksForCurrentMonth(userId);
         return ResponseEntity.ok(tasks);
     }
@@ -136,74 +214,110 @@ public class TaskController {
     /**
      * Busca tarefas por status de conclusão
      * @param completed Status de conclusão
-     * @param authorizationHeader Header Authorization com token
-     * @return Lista de tarefas com o status especificado
+     * @param cursor Cursor da próxima página (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
+     * @return Página de tarefas com o status especificado
      */
     @GetMapping("/status/{completed}")
     public ResponseEntity<List<TaskDTO>> getTasksByStatus(
             @PathVariable Boolean completed,
-            @RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
-        List<TaskDTO> tasks = taskService.findByUserAndCompleted(userId, completed);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        TaskPage page = taskService.findByUserAndCompleted(userId, completed, cursor, size);
+        return pageResponse(page);
     }
     
     /**
      * Busca tarefas por prioridade
      * @param priority Prioridade
-     * @param authorizationHeader Header Authorization com token
-     * @return Lista de tarefas com a prioridade especificada
+     * @param cursor Cursor da próxima página (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
+     * @return Página de tarefas com a prioridade especificada
      */
     @GetMapping("/priority/{priority}")
     public ResponseEntity<List<TaskDTO>> getTasksByPriority(
             @PathVariable Task.Priority priority,
-            @RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
-        List<TaskDTO> tasks = taskService.findByUserAndPriority(userId, priority);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        TaskPage page = taskService.findByUserAndPriority(userId, priority, cursor, size);
+        return pageResponse(page);
     }
     
     /**
      * Busca tarefas por categoria
      * @param category Categoria
-     * @param authorizationHeader Header Authorization com token
-     * @return Lista de tarefas da categoria especificada
+     * @param cursor Cursor da próxima página (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
+     * @return Página de tarefas da categoria especificada
      */
     @GetMapping("/category/{category}")
     public ResponseEntity<List<TaskDTO>> getTasksByCategory(
             @PathVariable Task.Category category,
-            @RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
-        List<TaskDTO> tasks = taskService.findByUserAndCategory(userId, category);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        TaskPage page = taskService.findByUserAndCategory(userId, category, cursor, size);
+        return pageResponse(page);
     }
     
     /**
      * Busca tarefas por título
      * @param title Título ou parte do título
-     * @param authorizationHeader Header Authorization com token
-     * @return Lista de tarefas encontradas
+     * @param cursor Cursor da próxima página (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param request Requisição (If-None-Match)
+     * @param currentUser Usuário autenticado
+     * @return Página de tarefas encontradas
      */
     @GetMapping("/search")
     public ResponseEntity<List<TaskDTO>> getTasksByTitle(
             @RequestParam String title,
-            @RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
-        List<TaskDTO> tasks = taskService.findByUserAndTitle(userId, title);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        TaskPage page = taskService.findByUserAndTitle(userId, title, cursor, size);
+        return pageResponse(page);
     }
     
     /**
      * Cria uma nova tarefa
      * @param taskDTO Dados da tarefa
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
      * @return Tarefa criada
      */
     @PostMapping
     public ResponseEntity<?> createTask(@Valid @RequestBody TaskDTO taskDTO,
-                                       @RequestHeader("Authorization") String authorizationHeader) {
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            Long userId = extractUserIdFromToken(authorizationHeader);
+            Long userId = currentUser.getId();
             TaskDTO createdTask = taskService.createTask(taskDTO, userId);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
         } catch (RuntimeException e) {
@@ -218,21 +332,86 @@ public class TaskController {
         }
     }
     
+    /**
+     * Cria várias tarefas em uma única requisição (inserts em batch)
+     * @param taskDTOs Lista de tarefas
+     * @param currentUser Usuário autenticado
+     * @return Tarefas criadas
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<TaskDTO> taskDTOs,
+                                        @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            Long userId = currentUser.getId();
+            List<TaskDTO> createdTasks = taskService.createTasks(taskDTOs, userId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdTasks);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro de validação");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro interno do servidor");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
     /**
      * Atualiza uma tarefa existente
      * @param id ID da tarefa
      * @param taskDTO Dados atualizados da tarefa
-     * @param authorizationHeader Header Authorization com token
+     * @param ifMatch Versão esperada da tarefa (opcional; 412 se divergir)
+     * @param currentUser Usuário autenticado
      * @return Tarefa atualizada
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTask(@PathVariable Long id,
                                        @Valid @RequestBody TaskDTO taskDTO,
-                                       @RequestHeader("Authorization") String authorizationHeader) {
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            Long userId = extractUserIdFromToken(authorizationHeader);
-            TaskDTO updatedTask = taskService.updateTask(id, taskDTO, userId);
-            return ResponseEntity.ok(updatedTask);
+            Long userId = currentUser.getId();
+            TaskDTO updatedTask = taskService.updateTask(id, taskDTO, userId, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(versionETag(updatedTask.getVersion())).body(updatedTask);
+        } catch (TaskVersionConflictException e) {
+            return preconditionFailed(e);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(new TaskVersionConflictException(null));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro de validação");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro interno do servidor");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
+    /**
+     * Atualiza parcialmente uma tarefa (JSON Merge Patch): apenas os campos
+     * enviados são alterados
+     * @param id ID da tarefa
+     * @param patch Campos a alterar (null remove a descrição)
+     * @param ifMatch Versão esperada da tarefa (opcional; 412 se divergir)
+     * @param currentUser Usuário autenticado
+     * @return Tarefa atualizada
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchTask(@PathVariable Long id,
+                                      @RequestBody JsonNode patch,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                      @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            Long userId = currentUser.getId();
+            TaskDTO updatedTask = taskService.patchTask(id, patch, userId, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(versionETag(updatedTask.getVersion())).body(updatedTask);
+        } catch (TaskVersionConflictException e) {
+            return preconditionFailed(e);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(new TaskVersionConflictException(null));
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Erro de validação");
@@ -249,18 +428,24 @@ public class TaskController {
      * Alterna o status de conclusão de uma tarefa
      * @param id ID da tarefa
      * @param statusData Dados do status
-     * @param authorizationHeader Header Authorization com token
+     * @param ifMatch Versão esperada da tarefa (opcional; 412 se divergir)
+     * @param currentUser Usuário autenticado
      * @return Tarefa atualizada
      */
     @PatchMapping("/{id}/toggle")
     public ResponseEntity<?> toggleTaskCompletion(@PathVariable Long id,
                                                   @RequestBody Map<String, Boolean> statusData,
-                                                  @RequestHeader("Authorization") String authorizationHeader) {
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            Long userId = extractUserIdFromToken(authorizationHeader);
+            Long userId = currentUser.getId();
             Boolean completed = statusData.get("completed");
-            TaskDTO updatedTask = taskService.toggleTaskCompletion(id, completed, userId);
-            return ResponseEntity.ok(updatedTask);
+            TaskDTO updatedTask = taskService.toggleTaskCompletion(id, completed, userId, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(versionETag(updatedTask.getVersion())).body(updatedTask);
+        } catch (TaskVersionConflictException e) {
+            return preconditionFailed(e);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(new TaskVersionConflictException(null));
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Erro de validação");
@@ -276,19 +461,25 @@ public class TaskController {
     /**
      * Deleta uma tarefa
      * @param id ID da tarefa
-     * @param authorizationHeader Header Authorization com token
+     * @param ifMatch Versão esperada da tarefa (opcional; 412 se divergir)
+     * @param currentUser Usuário autenticado
      * @return Confirmação de deleção
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable Long id,
-                                       @RequestHeader("Authorization") String authorizationHeader) {
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            Long userId = extractUserIdFromToken(authorizationHeader);
-            taskService.deleteTask(id, userId);
+            Long userId = currentUser.getId();
+            taskService.deleteTask(id, userId, parseIfMatch(ifMatch));
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "Tarefa deletada com sucesso");
             return ResponseEntity.ok(response);
+        } catch (TaskVersionConflictException e) {
+            return preconditionFailed(e);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(new TaskVersionConflictException(null));
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Erro de validação");
@@ -301,25 +492,284 @@ public class TaskController {
         }
     }
     
+    /**
+     * Marca várias tarefas como concluídas ou pendentes em uma única operação
+     * @param request IDs das tarefas e status de conclusão
+     * @param currentUser Usuário autenticado
+     * @return Número de tarefas alteradas
+     */
+    @PatchMapping("/bulk/complete")
+    public ResponseEntity<?> completeTasks(@RequestBody BulkTaskRequest request,
+                                           @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return bulkResponse(() -> taskService.setCompleted(request.getIds(), request.getCompleted(), currentUser.getId()));
+    }
+    
+    /**
+     * Deleta várias tarefas em uma única operação
+     * @param request IDs das tarefas
+     * @param currentUser Usuário autenticado
+     * @return Número de tarefas removidas
+     */
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<?> deleteTasks(@RequestBody BulkTaskRequest request,
+                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return bulkResponse(() -> taskService.deleteTasks(request.getIds(), currentUser.getId()));
+    }
+    
+    /**
+     * Deleta as tarefas concluídas com data anterior à informada
+     * @param before Data limite (exclusiva)
+     * @param currentUser Usuário autenticado
+     * @return Número de tarefas removidas
+     */
+    @DeleteMapping("/bulk/completed")
+    public ResponseEntity<?> deleteCompletedTasks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return bulkResponse(() -> taskService.deleteCompletedBefore(before, currentUser.getId()));
+    }
+    
+    /**
+     * Move para uma nova data as tarefas de um período
+     * @param request Período (startDate, endDate) e nova data (newDate)
+     * @param currentUser Usuário autenticado
+     * @return Número de tarefas alteradas
+     */
+    @PatchMapping("/bulk/reschedule")
+    public ResponseEntity<?> rescheduleTasks(@RequestBody BulkTaskRequest request,
+                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return bulkResponse(() -> taskService.reschedule(
+                request.getStartDate(), request.getEndDate(), request.getNewDate(), currentUser.getId()));
+    }
+    
     /**
      * Obtém estatísticas das tarefas do usuário
-     * @param authorizationHeader Header Authorization com token
-     * @return Estatísticas das tarefas
+     * @param currentUser Usuário autenticado
+     * @param request Requisição (If-None-Match)
+     * @return Estatísticas das tarefas (totais, por prioridade e por categoria), ou 304 se não mudaram
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Long>> getTaskStats(@RequestHeader("Authorization") String authorizationHeader) {
-        Long userId = extractUserIdFromToken(authorizationHeader);
+    public ResponseEntity<TaskStats> getTaskStats(@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                  WebRequest request) {
+        Long userId = currentUser.getId();
+        if (notModified(request, userId)) {
+            return null;
+        }
+        return ResponseEntity.ok(taskService.getTaskStats(userId));
+    }
+    
+    /**
+     * Stream (Server-Sent Events) das alterações nas tarefas do usuário. Cada
+     * evento "task-change" traz a tarefa alterada e a variação das estatísticas;
+     * o ID do evento é a versão das tarefas, e uma reconexão com Last-Event-ID
+     * recebe os eventos perdidos (ou um RESYNC, se não estiverem mais disponíveis).
+     * @param lastEventId Header Last-Event-ID (opcional)
+     * @param currentUser Usuário autenticado
+     * @return Stream de eventos, ou 429 (sem corpo) se o usuário já tiver o máximo de conexões
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<SseEmitter> streamTaskChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        Long lastVersion = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                lastVersion = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // ID desconhecido: o cliente recebe um RESYNC, como em uma primeira conexão
+            }
+        }
         
-        long completedTasks = taskService.countCompletedTasks(userId);
-        long pendingTasks = taskService.countPendingTasks(userId);
-        long totalTasks = completedTasks + pendingTasks;
+        try {
+            SseEmitter emitter = eventStream.open(userId, lastVersion, () -> taskService.getTasksVersion(userId));
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    // Desativa o buffer de proxies (nginx) para que os eventos cheguem imediatamente
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (IllegalStateException e) {
+            // O corpo precisa ser um SseEmitter para o Spring tratar a resposta como stream;
+            // clientes SSE não leem o corpo de erros, apenas o status
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+    
+    /**
+     * Sincronização incremental: retorna apenas as tarefas criadas, alteradas ou
+     * removidas após o cursor, com o cursor a ser enviado na próxima chamada.
+     * Sem cursor retorna todas as tarefas (sincronização completa). Enquanto
+     * hasMore for true o cliente deve chamar novamente com o novo cursor.
+     * @param since Cursor da última sincronização (opcional)
+     * @param size Tamanho da página (opcional)
+     * @param currentUser Usuário autenticado
+     * @return Alterações desde o cursor, ou 410 se o cursor expirou e o cliente precisa sincronizar do zero
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(required = false) Integer size,
+                                        @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            return ResponseEntity.ok(taskService.findChanges(currentUser.getId(), since, size));
+        } catch (TaskChangeCursorExpiredException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Cursor expirado");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).body(error);
+        }
+    }
+    
+    /**
+     * Exporta todas as tarefas do usuário em NDJSON ou CSV. As tarefas são lidas
+     * do banco e escritas na resposta em fluxo contínuo, comprimidas com gzip
+     * quando o cliente envia Accept-Encoding: gzip.
+     * @param format Formato (ndjson ou csv; padrão ndjson)
+     * @param acceptEncoding Header Accept-Encoding
+     * @param currentUser Usuário autenticado
+     * @return Arquivo de exportação em streaming
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long userId = currentUser.getId();
+        TaskExportService.Format exportFormat;
+        try {
+            exportFormat = TaskExportService.Format.from(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Parâmetro inválido");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
         
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("totalTasks", totalTasks);
-        stats.put("completedTasks", completedTasks);
-        stats.put("pendingTasks", pendingTasks);
+        StreamingResponseBody body = out -> taskExportService.export(userId, exportFormat, gzip, out);
         
-        return ResponseEntity.ok(stats);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tarefas." + exportFormat.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Executa uma operação em lote e responde com o número de tarefas afetadas
+     * @param operation Operação a executar
+     * @return Resposta com "affected" ou erro de validação
+     */
+    private ResponseEntity<?> bulkResponse(IntSupplier operation) {
+        try {
+            Map<String, Integer> response = new HashMap<>();
+            response.put("affected", operation.getAsInt());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro de validação");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erro interno do servidor");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
+    /**
+     * Monta o ETag forte de uma tarefa a partir da sua versão
+     * @param version Versão da tarefa
+     * @return ETag entre aspas
+     */
+    private static String versionETag(Long version) {
+        return "\"" + version + "\"";
+    }
+    
+    /**
+     * Extrai a versão esperada do header If-Match
+     * @param ifMatch Valor do header (ex.: "3"), ausente ou *
+     * @return Versão esperada, ou null se não houver pré-condição
+     * @throws TaskVersionConflictException se o valor não puder corresponder a nenhuma versão
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // ETags fracos (W/) ou de outro recurso nunca correspondem na comparação forte do If-Match
+            throw new TaskVersionConflictException(null);
+        }
+    }
+    
+    /**
+     * Monta a resposta 412 de conflito de versão
+     * @param e Conflito detectado
+     * @return Erro 412 com o ETag da versão atual, quando conhecida
+     */
+    private ResponseEntity<Map<String, String>> preconditionFailed(TaskVersionConflictException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Conflito de versão");
+        error.put("message", e.getMessage());
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (e.getCurrentVersion() != null) {
+            response.eTag(versionETag(e.getCurrentVersion()));
+        }
+        return response.body(error);
+    }
+    
+    /**
+     * Verifica o If-None-Match contra a versão das tarefas do usuário antes de
+     * consultar ou serializar as tarefas. Se coincidir, a resposta é marcada
+     * como 304; caso contrário o header ETag é definido na resposta.
+     * @param request Requisição atual
+     * @param userId ID do usuário
+     * @param scope Valores adicionais dos quais a resposta depende (ex.: data atual)
+     * @return true se a resposta já foi marcada como 304
+     */
+    private boolean notModified(WebRequest request, Long userId, Object... scope) {
+        StringBuilder etag = new StringBuilder("\"u").append(userId)
+                .append("-v").append(taskService.getTasksVersion(userId));
+        for (Object value : scope) {
+            etag.append('-').append(value);
+        }
+        return request.checkNotModified(etag.append('"').toString());
+    }
+    
+    /**
+     * Monta a resposta de uma página: o corpo continua sendo a lista de tarefas
+     * e o cursor da próxima página segue no header X-Next-Cursor
+     * @param page Página de tarefas
+     * @return ResponseEntity com a lista de tarefas
+     */
+    private ResponseEntity<List<TaskDTO>> pageResponse(TaskPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasMore()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getTasks());
+    }
+    
+    /**
+     * Trata cursores de paginação inválidos (malformados ou de outra listagem)
+     * @param e Exceção lançada
+     * @return Erro 400
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Parâmetro inválido");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 }
-
@@ -0,0 +1,224 @@
+package com.taskmanager.backend.controller;
+
+import com.taskmanager.backend.dto.TaskChangeEvent;
+import com.taskmanager.backend.service.TaskChangeNotifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Streams SSE de alterações de tarefas, um por conexão aberta.
+ * Cada conexão tem um buffer limitado: os eventos são enfileirados pelo
+ * notificador e enviados por um pool próprio, de modo que um cliente lento
+ * não atrasa a transação que publicou o evento. Quando o buffer enche, os
+ * eventos pendentes são descartados e o cliente recebe um RESYNC.
+ * Um comentário de heartbeat é enviado periodicamente para manter a conexão
+ * aberta em proxies e detectar clientes desconectados.
+ */
+@Component
+public class TaskEventStream implements DisposableBean {
+
+    private static final String EVENT_NAME = "task-change";
+
+    private final TaskChangeNotifier notifier;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long reconnectMillis;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    private final Counter overflowCounter;
+
+    public TaskEventStream(TaskChangeNotifier notifier,
+                           @Value("${tasks.events.buffer-size:64}") int bufferSize,
+                           @Value("${tasks.events.heartbeat-seconds:15}") long heartbeatSeconds,
+                           @Value("${tasks.events.timeout-minutes:30}") long timeoutMinutes,
+                           @Value("${tasks.events.reconnect-ms:3000}") long reconnectMillis,
+                           @Value("${tasks.events.sender-threads:2}") int senderThreads,
+                           MeterRegistry meterRegistry) {
+        this.notifier = notifier;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.reconnectMillis = reconnectMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> connections.forEach(Connection::heartbeat),
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        this.overflowCounter = Counter.builder("tasks.events.overflows")
+                .description("Conexões SSE cujo buffer encheu (eventos substituídos por RESYNC)")
+                .register(meterRegistry);
+        Gauge.builder("tasks.events.connections", connections, Set::size)
+                .description("Conexões SSE de alterações de tarefas abertas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre um stream de alterações para o usuário. Sem Last-Event-ID o primeiro
+     * evento é um RESYNC com a versão atual; com Last-Event-ID são reenviados os
+     * eventos perdidos, ou um RESYNC se o histórico não os cobrir.
+     * @param userId ID do usuário
+     * @param lastEventId Último evento recebido pelo cliente (null na primeira conexão)
+     * @param currentVersion Consulta da versão atual das tarefas do usuário
+     * @return SseEmitter da conexão
+     * @throws IllegalStateException se o usuário já tiver o máximo de conexões
+     */
+    public SseEmitter open(Long userId, Long lastEventId, LongSupplier currentVersion) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(emitter, lastEventId != null ? lastEventId : -1);
+
+        // Assina antes de consultar a versão, para não perder alterações entre as duas operações
+        connection.unsubscribe = notifier.subscribe(userId, connection::enqueue);
+        connections.add(connection);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> connection.close());
+
+        long version = currentVersion.getAsLong();
+        List<TaskChangeEvent> missed = lastEventId != null
+                ? notifier.eventsSince(userId, lastEventId, version)
+                : null;
+        connection.start(missed != null ? missed : List.of(TaskChangeEvent.resync(version)));
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        connections.forEach(connection -> connection.emitter.complete());
+    }
+
+    /**
+     * Conexão SSE com buffer limitado; os envios de uma conexão nunca ocorrem em paralelo
+     */
+    private final class Connection {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<TaskChangeEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile Runnable unsubscribe;
+        private volatile boolean started;
+        private volatile boolean overflowed;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+        private volatile long latestVersion;
+        private long lastSentVersion;
+
+        Connection(SseEmitter emitter, long lastSentVersion) {
+            this.emitter = emitter;
+            this.lastSentVersion = lastSentVersion;
+        }
+
+        /**
+         * Envia os eventos iniciais na thread da requisição: antes de o Spring
+         * inicializar o emitter eles ficam em buffer e são gravados junto com os
+         * cabeçalhos, na mesma thread. Enviá-los pelo pool fazia a gravação dos
+         * cabeçalhos concorrer com a thread da requisição (falha no Tomcat e 403)
+         * @param initialEvents Eventos iniciais (RESYNC ou eventos perdidos)
+         */
+        void start(List<TaskChangeEvent> initialEvents) {
+            try {
+                emitter.send(SseEmitter.event().reconnectTime(reconnectMillis).comment("stream"));
+                for (TaskChangeEvent event : initialEvents) {
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+                return;
+            }
+            this.started = true;
+            schedule();
+        }
+
+        void enqueue(TaskChangeEvent event) {
+            latestVersion = Math.max(latestVersion, event.getVersion());
+            if (!queue.offer(event)) {
+                overflowed = true;
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            connections.remove(this);
+            Runnable action = unsubscribe;
+            if (action != null) {
+                action.run();
+            }
+        }
+
+        private void schedule() {
+            if (started && !closed && draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed) {
+                    overflowed = false;
+                    queue.clear();
+                    overflowCounter.increment();
+                    send(TaskChangeEvent.resync(Math.max(latestVersion, lastSentVersion)));
+                }
+                TaskChangeEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (event.getVersion() > lastSentVersion) {
+                        send(event);
+                    }
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou emitter já finalizado
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() || overflowed || heartbeatDue) {
+                schedule();
+            }
+        }
+
+        private void send(TaskChangeEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getVersion()))
+                    .name(EVENT_NAME)
+                    .data(event, MediaType.APPLICATION_JSON));
+            lastSentVersion = Math.max(lastSentVersion, event.getVersion());
+        }
+    }
+}
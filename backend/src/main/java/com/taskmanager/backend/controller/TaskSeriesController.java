@@ -0,0 +1,193 @@
+package com.taskmanager.backend.controller;
+
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.TaskSeriesDTO;
+import com.taskmanager.backend.security.AuthenticatedUser;
+import com.taskmanager.backend.service.TaskSeriesService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/tasks/series")
+@CrossOrigin(origins = "*")
+public class TaskSeriesController {
+    
+    @Autowired
+    private TaskSeriesService seriesService;
+    
+    /**
+     * Busca as séries recorrentes do usuário autenticado
+     * @param currentUser Usuário autenticado
+     * @return Lista de séries
+     */
+    @GetMapping
+    public ResponseEntity<List<TaskSeriesDTO>> getAllSeries(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(seriesService.findAllByUser(currentUser.getId()));
+    }
+    
+    /**
+     * Busca série por ID
+     * @param id ID da série
+     * @param currentUser Usuário autenticado
+     * @return Série encontrada
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getSeriesById(@PathVariable Long id,
+                                          @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Optional<TaskSeriesDTO> series = seriesService.findById(id, currentUser.getId());
+        if (series.isPresent()) {
+            return ResponseEntity.ok(series.get());
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Série não encontrada");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+    
+    /**
+     * Cria uma série recorrente; as ocorrências passam a aparecer nas consultas por data, semana e mês
+     * @param seriesDTO Regra de recorrência e dados das tarefas
+     * @param currentUser Usuário autenticado
+     * @return Série criada
+     */
+    @PostMapping
+    public ResponseEntity<?> createSeries(@Valid @RequestBody TaskSeriesDTO seriesDTO,
+                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            TaskSeriesDTO created = seriesService.createSeries(seriesDTO, currentUser.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (RuntimeException e) {
+            return validationError(e);
+        }
+    }
+    
+    /**
+     * Atualiza uma série (ocorrências já alteradas, concluídas ou excluídas são mantidas)
+     * @param id ID da série
+     * @param seriesDTO Dados atualizados da série
+     * @param currentUser Usuário autenticado
+     * @return Série atualizada
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateSeries(@PathVariable Long id,
+                                         @Valid @RequestBody TaskSeriesDTO seriesDTO,
+                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            return ResponseEntity.ok(seriesService.updateSeries(id, seriesDTO, currentUser.getId()));
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Conflito de versão");
+            error.put("message", "A série foi alterada por outra requisição");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (RuntimeException e) {
+            return validationError(e);
+        }
+    }
+    
+    /**
+     * Deleta uma série; as ocorrências já registradas como tarefas são mantidas como tarefas comuns
+     * @param id ID da série
+     * @param currentUser Usuário autenticado
+     * @return Confirmação de deleção
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteSeries(@PathVariable Long id,
+                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            seriesService.deleteSeries(id, currentUser.getId());
+            
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Série deletada com sucesso");
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return validationError(e);
+        }
+    }
+    
+    /**
+     * Altera uma ocorrência da série, que passa a ser gravada como tarefa
+     * @param id ID da série
+     * @param date Data da ocorrência (formato: yyyy-MM-dd)
+     * @param taskDTO Dados da ocorrência
+     * @param currentUser Usuário autenticado
+     * @return Tarefa criada para a ocorrência
+     */
+    @PutMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<?> updateOccurrence(@PathVariable Long id,
+                                             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                             @Valid @RequestBody TaskDTO taskDTO,
+                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            TaskDTO task = seriesService.updateOccurrence(id, date, taskDTO, currentUser.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(task);
+        } catch (RuntimeException e) {
+            return validationError(e);
+        }
+    }
+    
+    /**
+     * Marca uma ocorrência da série como concluída ou pendente, gravando-a como tarefa
+     * @param id ID da série
+     * @param date Data da ocorrência (formato: yyyy-MM-dd)
+     * @param statusData Dados do status
+     * @param currentUser Usuário autenticado
+     * @return Tarefa criada para a ocorrência
+     */
+    @PatchMapping("/{id}/occurrences/{date}/toggle")
+    public ResponseEntity<?> toggleOccurrence(@PathVariable Long id,
+                                             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                             @RequestBody Map<String, Boolean> statusData,
+                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            TaskDTO task = seriesService.toggleOccurrence(id, date, statusData.get("completed"), currentUser.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(task);
+        } catch (RuntimeException e) {
+            return validationError(e);
+        }
+    }
+    
+    /**
+     * Exclui uma ocorrência da série ainda não gravada como tarefa
+     * @param id ID da série
+     * @param date Data da ocorrência (formato: yyyy-MM-dd)
+     * @param currentUser Usuário autenticado
+     * @return Confirmação de exclusão
+     */
+    @DeleteMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<?> skipOccurrence(@PathVariable Long id,
+                                           @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                           @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            seriesService.skipOccurrence(id, date, currentUser.getId());
+            
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Ocorrência excluída com sucesso");
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return validationError(e);
+        }
+    }
+    
+    /**
+     * Monta a resposta 400 de erro de validação
+     * @param e Exceção lançada
+     * @return Erro 400 com a mensagem
+     */
+    private ResponseEntity<Map<String, String>> validationError(RuntimeException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Erro de validação");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+}
@@ -1,12 +1,14 @@
 package com.taskmanager.backend.controller;
 
 import com.taskmanager.backend.dto.UserDTO;
-import com.taskmanager.backend.security.JwtUtil;
+import com.taskmanager.backend.security.AuthenticatedUser;
+import com.taskmanager.backend.security.PasswordHashingRejectedException;
 import com.taskmanager.backend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -22,9 +24,6 @@ public class UserController {
     @Autowired
     private UserService userService;
     
-    @Autowired
-    private JwtUtil jwtUtil;
-    
     /**
      * Busca todos os usuários
      * @return Lista de usuários
@@ -65,14 +64,13 @@ public class UserController {
     
     /**
      * Busca o perfil do usuário autenticado
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
      * @return Dados do usuário autenticado
      */
     @GetMapping("/profile")
-    public ResponseEntity<?> getUserProfile(@RequestHeader("Authorization") String authorizationHeader) {
+    public ResponseEntity<?> getUserProfile(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String token = authorizationHeader.substring(7); // Remove "Bearer "
-            Long userId = jwtUtil.extractUserId(token);
+            Long userId = currentUser.getId();
             
             Optional<UserDTO> user = userService.findById(userId);
             if (user.isPresent()) {
@@ -93,16 +91,15 @@ public class UserController {
      * Atualiza dados do usuário
      * @param id ID do usuário
      * @param userDTO Dados atualizados
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
      * @return Usuário atualizado
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateUser(@PathVariable Long id, 
                                        @Valid @RequestBody UserDTO userDTO,
-                                       @RequestHeader("Authorization") String authorizationHeader) {
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String token = authorizationHeader.substring(7); // Remove "Bearer "
-            Long authenticatedUserId = jwtUtil.extractUserId(token);
+            Long authenticatedUserId = currentUser.getId();
             
             // Verificar se o usuário está tentando atualizar seus próprios dados
             if (!id.equals(authenticatedUserId)) {
@@ -131,16 +128,15 @@ public class UserController {
      * Atualiza senha do usuário
      * @param id ID do usuário
      * @param passwordData Dados da nova senha
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
      * @return Confirmação de atualização
      */
     @PutMapping("/{id}/password")
     public ResponseEntity<?> updatePassword(@PathVariable Long id,
                                           @RequestBody Map<String, String> passwordData,
-                                          @RequestHeader("Authorization") String authorizationHeader) {
+                                          @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String token = authorizationHeader.substring(7); // Remove "Bearer "
-            Long authenticatedUserId = jwtUtil.extractUserId(token);
+            Long authenticatedUserId = currentUser.getId();
             
             // Verificar se o usuário está tentando atualizar sua própria senha
             if (!id.equals(authenticatedUserId)) {
@@ -164,6 +160,9 @@ public class UserController {
             response.put("message", "Senha atualizada com sucesso");
             return ResponseEntity.ok(response);
             
+        } catch (PasswordHashingRejectedException e) {
+            // Tratada em ApiExceptionHandler (503 + Retry-After)
+            throw e;
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Erro de validação");
@@ -179,15 +178,14 @@ public class UserController {
     /**
      * Deleta usuário
      * @param id ID do usuário
-     * @param authorizationHeader Header Authorization com token
+     * @param currentUser Usuário autenticado
      * @return Confirmação de deleção
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id,
-                                       @RequestHeader("Authorization") String authorizationHeader) {
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String token = authorizationHeader.substring(7); // Remove "Bearer "
-            Long authenticatedUserId = jwtUtil.extractUserId(token);
+            Long authenticatedUserId = currentUser.getId();
             
             // Verificar se o usuário está tentando deletar sua própria conta
             if (!id.equals(authenticatedUserId)) {
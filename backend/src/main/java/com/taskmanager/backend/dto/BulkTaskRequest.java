@@ -0,0 +1,57 @@
+package com.taskmanager.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class BulkTaskRequest {
+    
+    private List<Long> ids;
+    private Boolean completed;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate newDate;
+    
+    // Constructors
+    public BulkTaskRequest() {}
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public Boolean getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public LocalDate getNewDate() {
+        return newDate;
+    }
+    
+    public void setNewDate(LocalDate newDate) {
+        this.newDate = newDate;
+    }
+}
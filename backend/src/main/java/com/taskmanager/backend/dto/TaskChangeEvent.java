@@ -0,0 +1,86 @@
+package com.taskmanager.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Alteração nas tarefas de um usuário enviada às conexões abertas (SSE e long polling).
+ * A versão é a versão das tarefas do usuário após a alteração e serve como ID do evento.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeEvent {
+
+    /**
+     * Tipos de alteração. RESYNC indica que o cliente deve recarregar as tarefas
+     * (alterações em lote ou eventos perdidos).
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED, RESYNC
+    }
+
+    private long version;
+    private Type type;
+    private Long taskId;
+    private TaskDTO task;
+    private TaskStats statsDelta;
+
+    // Constructors
+    public TaskChangeEvent() {}
+
+    public TaskChangeEvent(long version, Type type, Long taskId, TaskDTO task, TaskStats statsDelta) {
+        this.version = version;
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.statsDelta = statsDelta;
+    }
+
+    /**
+     * Evento que pede ao cliente para recarregar as tarefas
+     * @param version Versão atual das tarefas do usuário
+     * @return TaskChangeEvent do tipo RESYNC
+     */
+    public static TaskChangeEvent resync(long version) {
+        return new TaskChangeEvent(version, Type.RESYNC, null, null, null);
+    }
+
+    // Getters and Setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public TaskDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskDTO task) {
+        this.task = task;
+    }
+
+    public TaskStats getStatsDelta() {
+        return statsDelta;
+    }
+
+    public void setStatsDelta(TaskStats statsDelta) {
+        this.statsDelta = statsDelta;
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.backend.dto;
+
+import java.util.List;
+
+/**
+ * Página da sincronização incremental: tarefas criadas ou alteradas e IDs das
+ * tarefas removidas desde o cursor informado, com o cursor para a próxima chamada.
+ * O nome do usuário vem uma vez por resposta, e não em cada tarefa
+ */
+public class TaskChanges {
+    
+    private String userName;
+    private List<TaskDTO> tasks;
+    private List<Long> deleted;
+    private String cursor;
+    private boolean hasMore;
+    
+    // Constructors
+    public TaskChanges() {}
+    
+    public TaskChanges(String userName, List<TaskDTO> tasks, List<Long> deleted, String cursor, boolean hasMore) {
+        this.userName = userName;
+        this.tasks = tasks;
+        this.deleted = deleted;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public String getUserName() {
+        return userName;
+    }
+    
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+    
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+    
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
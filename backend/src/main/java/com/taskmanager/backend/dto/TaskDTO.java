@@ -1,5 +1,7 @@
 package com.taskmanager.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.taskmanager.backend.entity.Task;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -31,8 +33,26 @@ public class TaskDTO {
     private LocalDateTime completedAt;
     
     private Long userId;
+    
+    // Ausente na sincronização incremental (o nome vem uma vez em TaskChanges)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String userName;
     
+    // Versão da tarefa (controle de concorrência otimista; enviada como ETag/If-Match)
+    private Long version;
+    
+    // Série recorrente e data original da ocorrência (ausentes em tarefas comuns).
+    // Ocorrências ainda não materializadas são retornadas sem id e sem version.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long seriesId;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate occurrenceDate;
+    
+    // Versão de alteração (cursor da sincronização incremental); uso interno, não serializada
+    @JsonIgnore
+    private Long changeVersion;
+    
     // Constructors
     public TaskDTO() {}
     
@@ -54,6 +74,35 @@ public class TaskDTO {
         this.userName = userName;
     }
     
+    public TaskDTO(Long id, String title, String description, LocalDate taskDate, 
+                   Boolean completed, Task.Priority priority, Task.Category category,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime completedAt,
+                   Long userId, String userName, Long version) {
+        this(id, title, description, taskDate, completed, priority, category,
+             createdAt, updatedAt, completedAt, userId, userName);
+        this.version = version;
+    }
+    
+    public TaskDTO(Long id, String title, String description, LocalDate taskDate, 
+                   Boolean completed, Task.Priority priority, Task.Category category,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime completedAt,
+                   Long userId, String userName, Long version, Long seriesId, LocalDate occurrenceDate) {
+        this(id, title, description, taskDate, completed, priority, category,
+             createdAt, updatedAt, completedAt, userId, userName, version);
+        this.seriesId = seriesId;
+        this.occurrenceDate = occurrenceDate;
+    }
+    
+    public TaskDTO(Long id, String title, String description, LocalDate taskDate, 
+                   Boolean completed, Task.Priority priority, Task.Category category,
+                   LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime completedAt,
+                   Long userId, String userName, Long version, Long seriesId, LocalDate occurrenceDate,
+                   Long changeVersion) {
+        this(id, title, description, taskDate, completed, priority, category,
+             createdAt, updatedAt, completedAt, userId, userName, version, seriesId, occurrenceDate);
+        this.changeVersion = changeVersion;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -150,5 +199,36 @@ public class TaskDTO {
     public void setUserName(String userName) {
         this.userName = userName;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+    
+    public void setOccurrenceDate(LocalDate occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+    
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
 }
-
@@ -0,0 +1,38 @@
+package com.taskmanager.backend.dto;
+
+import java.util.List;
+
+public class TaskPage {
+    
+    private List<TaskDTO> tasks;
+    private String nextCursor;
+    
+    // Constructors
+    public TaskPage() {}
+    
+    public TaskPage(List<TaskDTO> tasks, String nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.entity.Task;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Critérios combináveis da busca de tarefas (GET /api/tasks/query).
+ * Todos os campos são opcionais; os informados são combinados com AND
+ * e os conjuntos de prioridade/categoria com IN.
+ */
+public class TaskQuery {
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+    
+    private Boolean completed;
+    private List<Task.Priority> priority;
+    private List<Task.Category> category;
+    private String title;
+    
+    // Ordenação por data da tarefa: "asc" (padrão) ou "desc"
+    private String sort = "asc";
+    
+    // Constructors
+    public TaskQuery() {}
+    
+    // Getters and Setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public Boolean getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+    
+    public List<Task.Priority> getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(List<Task.Priority> priority) {
+        this.priority = priority;
+    }
+    
+    public List<Task.Category> getCategory() {
+        return category;
+    }
+    
+    public void setCategory(List<Task.Category> category) {
+        this.category = category;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getSort() {
+        return sort;
+    }
+    
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+    
+    /**
+     * Indica se a ordenação está ausente ou é conhecida ("asc" ou "desc", sem diferenciar maiúsculas)
+     * @return true se a ordenação é válida
+     */
+    public boolean hasValidSort() {
+        return sort == null || sort.isBlank() || sort.equalsIgnoreCase("asc") || sort.equalsIgnoreCase("desc");
+    }
+    
+    /**
+     * Indica se a ordenação é ascendente
+     * @return false apenas para "desc"
+     */
+    public boolean isAscending() {
+        return sort == null || !sort.equalsIgnoreCase("desc");
+    }
+}
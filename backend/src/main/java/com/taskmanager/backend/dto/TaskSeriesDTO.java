@@ -0,0 +1,178 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.entity.Task;
+import com.taskmanager.backend.entity.TaskSeries;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class TaskSeriesDTO {
+    
+    private Long id;
+    
+    @NotBlank(message = "Título é obrigatório")
+    @Size(min = 1, max = 200, message = "Título deve ter entre 1 e 200 caracteres")
+    private String title;
+    
+    @Size(max = 1000, message = "Descrição deve ter no máximo 1000 caracteres")
+    private String description;
+    
+    private Task.Priority priority = Task.Priority.MEDIUM;
+    private Task.Category category = Task.Category.PERSONAL;
+    
+    @NotNull(message = "Frequência é obrigatória")
+    private TaskSeries.Frequency frequency;
+    
+    // Repete a cada N dias/semanas/meses
+    private Integer interval = 1;
+    
+    @NotNull(message = "Data inicial é obrigatória")
+    private LocalDate startDate;
+    
+    // Fim da série: data limite e/ou número de ocorrências (ambos ausentes = sem fim)
+    private LocalDate untilDate;
+    private Integer count;
+    
+    // Data da última ocorrência (calculada; somente leitura)
+    private LocalDate endDate;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+    
+    // Constructors
+    public TaskSeriesDTO() {}
+    
+    public TaskSeriesDTO(TaskSeries series) {
+        this.id = series.getId();
+        this.title = series.getTitle();
+        this.description = series.getDescription();
+        this.priority = series.getPriority();
+        this.category = series.getCategory();
+        this.frequency = series.getFrequency();
+        this.interval = series.getInterval();
+        this.startDate = series.getStartDate();
+        this.untilDate = series.getUntilDate();
+        this.count = series.getCount();
+        this.endDate = series.getEndDate();
+        this.createdAt = series.getCreatedAt();
+        this.updatedAt = series.getUpdatedAt();
+        this.version = series.getVersion();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public Task.Category getCategory() {
+        return category;
+    }
+    
+    public void setCategory(Task.Category category) {
+        this.category = category;
+    }
+    
+    public TaskSeries.Frequency getFrequency() {
+        return frequency;
+    }
+    
+    public void setFrequency(TaskSeries.Frequency frequency) {
+        this.frequency = frequency;
+    }
+    
+    public Integer getInterval() {
+        return interval;
+    }
+    
+    public void setInterval(Integer interval) {
+        this.interval = interval;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getUntilDate() {
+        return untilDate;
+    }
+    
+    public void setUntilDate(LocalDate untilDate) {
+        this.untilDate = untilDate;
+    }
+    
+    public Integer getCount() {
+        return count;
+    }
+    
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
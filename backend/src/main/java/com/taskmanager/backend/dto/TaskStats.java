@@ -0,0 +1,89 @@
+package com.taskmanager.backend.dto;
+
+import com.taskmanager.backend.entity.Task;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class TaskStats {
+
+    private long totalTasks;
+    private long completedTasks;
+    private long pendingTasks;
+    private Map<Task.Priority, Long> byPriority = emptyCounts(Task.Priority.class);
+    private Map<Task.Category, Long> byCategory = emptyCounts(Task.Category.class);
+
+    // Constructors
+    public TaskStats() {}
+
+    /**
+     * Acumula um grupo (status, prioridade, categoria) retornado pela consulta agregada
+     * @param completed Status de conclusão do grupo
+     * @param priority Prioridade do grupo
+     * @param category Categoria do grupo
+     * @param count Número de tarefas no grupo
+     */
+    public void add(Boolean completed, Task.Priority priority, Task.Category category, long count) {
+        totalTasks += count;
+        if (Boolean.TRUE.equals(completed)) {
+            completedTasks += count;
+        } else {
+            pendingTasks += count;
+        }
+        if (priority != null) {
+            byPriority.merge(priority, count, Long::sum);
+        }
+        if (category != null) {
+            byCategory.merge(category, count, Long::sum);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> emptyCounts(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+
+    // Getters and Setters
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public long getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public void setPendingTasks(long pendingTasks) {
+        this.pendingTasks = pendingTasks;
+    }
+
+    public Map<Task.Priority, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<Task.Priority, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public Map<Task.Category, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(Map<Task.Category, Long> byCategory) {
+        this.byCategory = byCategory;
+    }
+}
@@ -1,6 +1,7 @@
 package com.taskmanager.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -10,10 +11,14 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tasks")
+@DynamicUpdate
 public class Task {
     
+    // Sequência com alocação em blocos de 50 (otimizador pooled): ao contrário de IDENTITY,
+    // o ID é conhecido antes do INSERT, o que permite o batching de inserts via JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Título é obrigatório")
@@ -49,10 +54,28 @@ public class Task {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
     
+    // Controle de concorrência otimista: incrementada a cada UPDATE (também nos UPDATEs em lote)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Versão das tarefas do usuário (users.tasks_version) na última criação ou alteração;
+    // cursor da sincronização incremental (GET /api/tasks/changes)
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    // Ocorrência materializada de uma série recorrente (alterada, concluída ou excluída);
+    // occurrenceDate é a data original da ocorrência, mesmo que taskDate tenha mudado
+    @Column(name = "series_id")
+    private Long seriesId;
+    
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+    
     // Enums
     public enum Priority {
         LOW, MEDIUM, HIGH, URGENT
@@ -167,6 +190,18 @@ public class Task {
         this.completedAt = completedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
     public User getUser() {
         return user;
     }
@@ -175,6 +210,22 @@ public class Task {
         this.user = user;
     }
     
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+    
+    public void setOccurrenceDate(LocalDate occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,138 @@
+package com.taskmanager.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de alteração de tarefa gravado no outbox na mesma transação da alteração.
+ * Removido após ser entregue a todos os listeners.
+ */
+@Entity
+@Table(name = "task_outbox")
+public class TaskOutboxEvent {
+    
+    // Sequência com alocação em blocos de 50, como em Task: permite batching dos INSERTs
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    // users.tasks_version da alteração: ordena os eventos de cada usuário (IDs de instâncias diferentes não seguem a ordem)
+    @Column(name = "tasks_version", nullable = false)
+    private Long tasksVersion;
+    
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private Type type;
+    
+    // TaskDTO da tarefa após a alteração, em JSON (ausente em exclusões e alterações em lote)
+    @Column(length = 4000)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    // Próxima tentativa de entrega (adiada com backoff exponencial após cada falha)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED, BULK
+    }
+    
+    // Constructors
+    public TaskOutboxEvent() {}
+    
+    public TaskOutboxEvent(Long userId, Long tasksVersion, Long taskId, Type type, String payload) {
+        this.userId = userId;
+        this.tasksVersion = tasksVersion;
+        this.taskId = taskId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getTasksVersion() {
+        return tasksVersion;
+    }
+    
+    public void setTasksVersion(Long tasksVersion) {
+        this.tasksVersion = tasksVersion;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public void setType(Type type) {
+        this.type = type;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
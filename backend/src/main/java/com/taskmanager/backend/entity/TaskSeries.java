@@ -0,0 +1,214 @@
+package com.taskmanager.backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Série de tarefas recorrentes: a regra de recorrência é gravada uma única vez e as
+ * ocorrências são calculadas nas consultas por período (TaskRecurrence). Ocorrências
+ * alteradas ou concluídas são materializadas como Task (seriesId + occurrenceDate) e
+ * as excluídas ficam em TaskSeriesSkip.
+ */
+@Entity
+@Table(name = "task_series")
+@DynamicUpdate
+public class TaskSeries {
+    
+    // Sequência com alocação em blocos de 50, como em Task
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_series_seq")
+    @SequenceGenerator(name = "task_series_seq", sequenceName = "task_series_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotBlank(message = "Título é obrigatório")
+    @Size(min = 1, max = 200, message = "Título deve ter entre 1 e 200 caracteres")
+    @Column(nullable = false, length = 200)
+    private String title;
+    
+    @Size(max = 1000, message = "Descrição deve ter no máximo 1000 caracteres")
+    @Column(length = 1000)
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.Priority priority = Task.Priority.MEDIUM;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.Category category = Task.Category.PERSONAL;
+    
+    @NotNull(message = "Frequência é obrigatória")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Frequency frequency;
+    
+    // Repete a cada N dias/semanas/meses
+    @Column(name = "interval_count", nullable = false)
+    private int interval = 1;
+    
+    @NotNull(message = "Data inicial é obrigatória")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "until_date")
+    private LocalDate untilDate;
+    
+    @Column(name = "occurrence_count")
+    private Integer count;
+    
+    // Data da última ocorrência, calculada a partir de untilDate/count (null = sem fim);
+    // permite descartar pelo índice as séries que terminam antes do período consultado
+    @Column(name = "end_date")
+    private LocalDate endDate;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+    
+    // Constructors
+    public TaskSeries() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Task.Priority priority) {
+        this.priority = priority;
+    }
+    
+    public Task.Category getCategory() {
+        return category;
+    }
+    
+    public void setCategory(Task.Category category) {
+        this.category = category;
+    }
+    
+    public Frequency getFrequency() {
+        return frequency;
+    }
+    
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+    
+    public int getInterval() {
+        return interval;
+    }
+    
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getUntilDate() {
+        return untilDate;
+    }
+    
+    public void setUntilDate(LocalDate untilDate) {
+        this.untilDate = untilDate;
+    }
+    
+    public Integer getCount() {
+        return count;
+    }
+    
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmanager.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Ocorrência excluída de uma série recorrente: a data deixa de ser expandida
+ */
+@Entity
+@Table(name = "task_series_skips")
+@IdClass(TaskSeriesSkip.Key.class)
+public class TaskSeriesSkip {
+    
+    @Id
+    @Column(name = "series_id")
+    private Long seriesId;
+    
+    @Id
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+    
+    // Constructors
+    public TaskSeriesSkip() {}
+    
+    public TaskSeriesSkip(Long seriesId, LocalDate occurrenceDate) {
+        this.seriesId = seriesId;
+        this.occurrenceDate = occurrenceDate;
+    }
+    
+    // Getters and Setters
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+    
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+    
+    public void setOccurrenceDate(LocalDate occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+    
+    /**
+     * Chave composta (série, data da ocorrência)
+     */
+    public static class Key implements Serializable {
+        
+        private Long seriesId;
+        private LocalDate occurrenceDate;
+        
+        public Key() {}
+        
+        public Key(Long seriesId, LocalDate occurrenceDate) {
+            this.seriesId = seriesId;
+            this.occurrenceDate = occurrenceDate;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(seriesId, key.seriesId) && Objects.equals(occurrenceDate, key.occurrenceDate);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(seriesId, occurrenceDate);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de exclusão de uma tarefa, usado pela sincronização incremental para
+ * informar aos clientes as tarefas removidas desde o cursor que possuem.
+ * Gravado na mesma transação da exclusão e descartado após o período de retenção.
+ */
+@Entity
+@Table(name = "task_tombstones")
+public class TaskTombstone {
+    
+    // ID da tarefa removida (IDs de tarefas nunca são reutilizados)
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    // Versão das tarefas do usuário em que a exclusão ocorreu
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Constructors
+    public TaskTombstone() {}
+    
+    public TaskTombstone(Long taskId, Long userId, Long changeVersion) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskmanager.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Revogação dos tokens JWT de um usuário: tokens emitidos antes de notBefore são
+ * rejeitados. Gravada na mesma transação da troca de senha/email ou da remoção do
+ * usuário e descartada quando os tokens afetados já expiraram.
+ */
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocation_seq")
+    @SequenceGenerator(name = "token_revocation_seq", sequenceName = "token_revocation_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    // Época em segundos (mesma precisão do claim "iat")
+    @Column(name = "not_before", nullable = false)
+    private Long notBefore;
+    
+    // Constructors
+    public TokenRevocation() {}
+    
+    public TokenRevocation(Long userId, Long notBefore) {
+        this.userId = userId;
+        this.notBefore = notBefore;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getNotBefore() {
+        return notBefore;
+    }
+    
+    public void setNotBefore(Long notBefore) {
+        this.notBefore = notBefore;
+    }
+}
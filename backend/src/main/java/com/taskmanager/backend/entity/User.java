@@ -39,6 +39,21 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Controle de concorrência otimista dos dados do usuário
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Alterado apenas por UserRepository.incrementTasksVersion (nunca pelo UPDATE da entidade)
+    @Column(name = "tasks_version", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long tasksVersion = 0L;
+    
+    // Maior versão de exclusão descartada pela limpeza dos tombstones (UserRepository.raiseTasksSyncFloor)
+    @Column(name = "tasks_sync_floor", nullable = false, updatable = false)
+    @JsonIgnore
+    private Long tasksSyncFloor = 0L;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Task> tasks;
@@ -107,6 +122,18 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public Long getTasksVersion() {
+        return tasksVersion;
+    }
+    
+    public Long getTasksSyncFloor() {
+        return tasksSyncFloor;
+    }
+    
     public List<Task> getTasks() {
         return tasks;
     }
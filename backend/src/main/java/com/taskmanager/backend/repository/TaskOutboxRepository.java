@@ -0,0 +1,101 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+    
+    /**
+     * Condição comum às consultas de reserva: evento com tentativas restantes, já
+     * liberado pelo backoff e sem evento anterior do mesmo usuário esgotado ou em espera
+     */
+    String CLAIMABLE = "e.attempts < :maxAttempts AND e.next_attempt_at <= :now "
+            + "AND NOT EXISTS (SELECT 1 FROM task_outbox b WHERE b.user_id = e.user_id "
+            + "AND (b.tasks_version < e.tasks_version OR (b.tasks_version = e.tasks_version AND b.id < e.id)) "
+            + "AND (b.attempts >= :maxAttempts OR b.next_attempt_at > :now)) ";
+    
+    /**
+     * Reserva (SQL Server) os próximos eventos entregáveis, em ordem por usuário;
+     * linhas já reservadas por outra instância são puladas
+     * @param maxAttempts Número máximo de tentativas
+     * @param now Instante atual
+     * @param limit Tamanho do lote
+     * @return Eventos reservados até o fim da transação
+     */
+    @Query(value = "SELECT TOP (:limit) e.* FROM task_outbox e WITH (UPDLOCK, ROWLOCK, READPAST) WHERE "
+            + CLAIMABLE + "ORDER BY e.user_id, e.tasks_version, e.id", nativeQuery = true)
+    List<TaskOutboxEvent> claimPendingSqlServer(@Param("maxAttempts") int maxAttempts,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("limit") int limit);
+    
+    /**
+     * Reserva (H2) os próximos eventos entregáveis, em ordem por usuário;
+     * linhas já reservadas por outra instância são puladas
+     * @param maxAttempts Número máximo de tentativas
+     * @param now Instante atual
+     * @param limit Tamanho do lote
+     * @return Eventos reservados até o fim da transação
+     */
+    @Query(value = "SELECT e.* FROM task_outbox e WHERE " + CLAIMABLE
+            + "ORDER BY e.user_id, e.tasks_version, e.id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<TaskOutboxEvent> claimPendingH2(@Param("maxAttempts") int maxAttempts,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("limit") int limit);
+    
+    /**
+     * Busca, para cada usuário, o primeiro evento pendente fora do lote reservado
+     * (ex.: reservado por outra instância); os eventos do lote posteriores a ele
+     * não podem ser entregues ainda
+     * @param userIds Usuários do lote
+     * @param ids IDs dos eventos reservados
+     * @return No máximo um evento por usuário
+     */
+    @Query("SELECT e FROM TaskOutboxEvent e WHERE e.userId IN :userIds AND e.id NOT IN :ids "
+            + "AND NOT EXISTS (SELECT b.id FROM TaskOutboxEvent b WHERE b.userId = e.userId AND b.id NOT IN :ids "
+            + "AND (b.tasksVersion < e.tasksVersion OR (b.tasksVersion = e.tasksVersion AND b.id < e.id)))")
+    List<TaskOutboxEvent> findFirstOutsideBatch(@Param("userIds") Collection<Long> userIds,
+                                                @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Data de gravação do evento pendente mais antigo
+     * @return Data, ou null se o outbox estiver vazio
+     */
+    @Query("SELECT MIN(e.createdAt) FROM TaskOutboxEvent e WHERE e.attempts < :maxAttempts")
+    LocalDateTime findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+    
+    /**
+     * Remove eventos já entregues com um único DELETE
+     * @param ids IDs dos eventos
+     * @return Número de eventos removidos
+     */
+    @Modifying
+    @Query("DELETE FROM TaskOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Registra uma tentativa de entrega que falhou e adia a próxima
+     * @param id ID do evento
+     * @param nextAttemptAt Instante da próxima tentativa
+     * @return Número de eventos atualizados
+     */
+    @Modifying
+    @Query("UPDATE TaskOutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    /**
+     * Conta os eventos que esgotaram as tentativas de entrega
+     * @param maxAttempts Número máximo de tentativas
+     * @return Número de eventos não entregues
+     */
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -0,0 +1,27 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.TaskQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Consultas dinâmicas de tarefas, implementadas com a Criteria API
+ * em TaskQueryRepositoryImpl
+ */
+public interface TaskQueryRepository {
+    
+    /**
+     * Busca tarefas de um usuário combinando os critérios informados em uma
+     * única consulta, paginada por keyset sobre (taskDate, id) e projetada
+     * diretamente em TaskDTO
+     * @param userId ID do usuário
+     * @param query Critérios da busca
+     * @param afterDate Data da última tarefa da página anterior
+     * @param afterId ID da última tarefa da página anterior
+     * @param limit Número máximo de linhas
+     * @return Lista de TaskDTO na ordem solicitada
+     */
+    List<TaskDTO> search(Long userId, TaskQuery query, LocalDate afterDate, Long afterId, int limit);
+}
@@ -0,0 +1,95 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.TaskQuery;
+import com.taskmanager.backend.entity.Task;
+import com.taskmanager.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<TaskDTO> search(Long userId, TaskQuery query, LocalDate afterDate, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> cq = cb.createQuery(TaskDTO.class);
+        Root<Task> task = cq.from(Task.class);
+        Join<Task, User> owner = task.join("user");
+        Path<LocalDate> taskDate = task.get("taskDate");
+        Path<Long> id = task.get("id");
+        
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(owner.get("id"), userId));
+        
+        if (query.getStartDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(taskDate, query.getStartDate()));
+        }
+        if (query.getEndDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(taskDate, query.getEndDate()));
+        }
+        if (query.getCompleted() != null) {
+            predicates.add(cb.equal(task.get("completed"), query.getCompleted()));
+        }
+        if (query.getPriority() != null && !query.getPriority().isEmpty()) {
+            predicates.add(task.get("priority").in(query.getPriority()));
+        }
+        if (query.getCategory() != null && !query.getCategory().isEmpty()) {
+            predicates.add(task.get("category").in(query.getCategory()));
+        }
+        if (query.getTitle() != null && !query.getTitle().isBlank()) {
+            String pattern = "%" + escapeLike(query.getTitle().toLowerCase()) + "%";
+            predicates.add(cb.like(cb.lower(task.get("title")), pattern, '\\'));
+        }
+        
+        // Keyset: continua após a última posição vista, na direção da ordenação
+        boolean ascending = query.isAscending();
+        if (ascending) {
+            predicates.add(cb.or(
+                    cb.greaterThan(taskDate, afterDate),
+                    cb.and(cb.equal(taskDate, afterDate), cb.greaterThan(id, afterId))));
+            cq.orderBy(cb.asc(taskDate), cb.asc(id));
+        } else {
+            predicates.add(cb.or(
+                    cb.lessThan(taskDate, afterDate),
+                    cb.and(cb.equal(taskDate, afterDate), cb.lessThan(id, afterId))));
+            cq.orderBy(cb.desc(taskDate), cb.desc(id));
+        }
+        
+        // Projeção direta em TaskDTO (mesmas colunas de TaskRepository.TASK_DTO_SELECT)
+        cq.select(cb.construct(TaskDTO.class,
+                id, task.get("title"), task.get("description"), taskDate,
+                task.get("completed"), task.get("priority"), task.get("category"),
+                task.get("createdAt"), task.get("updatedAt"), task.get("completedAt"),
+                owner.get("id"), owner.get("name"), task.get("version"),
+                task.get("seriesId"), task.get("occurrenceDate")))
+          .where(predicates.toArray(new Predicate[0]));
+        
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    /**
+     * Escapa os curingas do LIKE para que o texto seja buscado literalmente
+     * @param value Texto digitado pelo usuário
+     * @return Texto escapado
+     */
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,116 +1,369 @@
 package com.taskmanager.backend.repository;
 
+import com.taskmanager.backend.dto.TaskDTO;
 import com.taskmanager.backend.entity.Task;
-import com.taskmanager.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
     
     /**
-     * Busca todas as tarefas de um usuário
-     * @param user Usuário
-     * @return Lista de tarefas do usuário
+     * Projeção direta em TaskDTO: as consultas de leitura que usam este SELECT
+     * não hidratam entidades, não criam snapshots de dirty checking e não
+     * inicializam o proxy de User
      */
-    List<Task> findByUser(User user);
+    String TASK_DTO_SELECT = "SELECT new com.taskmanager.backend.dto.TaskDTO(" +
+            "t.id, t.title, t.description, t.taskDate, t.completed, t.priority, t.category, " +
+            "t.createdAt, t.updatedAt, t.completedAt, u.id, u.name, t.version, t.seriesId, t.occurrenceDate) " +
+            "FROM Task t JOIN t.user u ";
     
     /**
-     * Busca todas as tarefas de um usuário ordenadas por data
-     * @param user Usuário
-     * @return Lista de tarefas ordenadas por data
+     * Projeção em TaskDTO com a versão de alteração, usada pela sincronização incremental.
+     * Sem o nome do usuário (enviado uma vez por resposta em TaskChanges): renomear o
+     * usuário não altera as tarefas
      */
-    List<Task> findByUserOrderByTaskDateAsc(User user);
+    String TASK_CHANGE_SELECT = "SELECT new com.taskmanager.backend.dto.TaskDTO(" +
+            "t.id, t.title, t.description, t.taskDate, t.completed, t.priority, t.category, " +
+            "t.createdAt, t.updatedAt, t.completedAt, t.user.id, CAST(NULL AS String), t.version, t.seriesId, " +
+            "t.occurrenceDate, t.changeVersion) " +
+            "FROM Task t ";
     
     /**
-     * Busca tarefas de um usuário por data específica
-     * @param user Usuário
+     * Busca uma tarefa do usuário por ID projetada em TaskDTO
+     * @param id ID da tarefa
+     * @param userId ID do usuário (propriedade verificada na própria consulta)
+     * @return Optional contendo TaskDTO se encontrada e pertencente ao usuário
+     */
+    @Query(TASK_DTO_SELECT + "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TaskDTO> findDtoByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    /**
+     * Busca uma tarefa do usuário por ID para alteração, já com o usuário carregado
+     * @param id ID da tarefa
+     * @param userId ID do usuário (propriedade verificada na própria consulta)
+     * @return Optional contendo a tarefa se encontrada e pertencente ao usuário
+     */
+    @Query("SELECT t FROM Task t JOIN FETCH t.user WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Task> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    /**
+     * Conta as tarefas de um usuário agrupadas por status, prioridade e categoria em uma única consulta
+     * @param userId ID do usuário
+     * @return Linhas no formato [completed, priority, category, count]
+     */
+    @Query("SELECT t.completed, t.priority, t.category, COUNT(t) FROM Task t " +
+           "WHERE t.user.id = :userId GROUP BY t.completed, t.priority, t.category")
+    List<Object[]> countGroupedByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Busca tarefas de um usuário por data específica projetadas em TaskDTO
+     * @param userId ID do usuário
      * @param taskDate Data da tarefa
-     * @return Lista de tarefas na data especificada
+     * @return Lista de TaskDTO ordenada por ID
      */
-    List<Task> findByUserAndTaskDate(User user, LocalDate taskDate);
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.taskDate = :taskDate ORDER BY t.id ASC")
+    List<TaskDTO> findDtosByUserAndTaskDate(@Param("userId") Long userId, @Param("taskDate") LocalDate taskDate);
     
     /**
-     * Busca tarefas de um usuário em um período
-     * @param user Usuário
+     * Busca tarefas de um usuário em um período projetadas em TaskDTO
+     * @param userId ID do usuário
      * @param startDate Data inicial
      * @param endDate Data final
-     * @return Lista de tarefas no período
+     * @return Lista de TaskDTO ordenada por data e ID
      */
-    List<Task> findByUserAndTaskDateBetween(User user, LocalDate startDate, LocalDate endDate);
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.taskDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.taskDate ASC, t.id ASC")
+    List<TaskDTO> findDtosByUserAndTaskDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+    
+    // Paginação por keyset: as consultas abaixo continuam a partir da última
+    // posição (afterDate, afterId) vista pelo cliente, ordenando por (taskDate, id).
+    // O Pageable é usado apenas para o LIMIT; não há OFFSET nem COUNT.
     
     /**
-     * Busca tarefas de um usuário por status de conclusão
-     * @param user Usuário
+     * Busca uma página de tarefas de um usuário após o cursor informado
+     * @param userId ID do usuário
+     * @param afterDate Data da última tarefa da página anterior
+     * @param afterId ID da última tarefa da página anterior
+     * @param pageable Tamanho da página
+     * @return Lista de TaskDTO ordenada por data e ID
+     */
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId " +
+           "AND (t.taskDate > :afterDate OR (t.taskDate = :afterDate AND t.id > :afterId)) " +
+           "ORDER BY t.taskDate ASC, t.id ASC")
+    List<TaskDTO> findPageByUser(@Param("userId") Long userId, @Param("afterDate") LocalDate afterDate,
+                                 @Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Busca uma página de tarefas de um usuário em um período após o cursor informado
+     * @param userId ID do usuário
+     * @param startDate Data inicial
+     * @param endDate Data final
+     * @param afterDate Data da última tarefa da página anterior
+     * @param afterId ID da última tarefa da página anterior
+     * @param pageable Tamanho da página
+     * @return Lista de TaskDTO ordenada por data e ID
+     */
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.taskDate BETWEEN :startDate AND :endDate " +
+           "AND (t.taskDate > :afterDate OR (t.taskDate = :afterDate AND t.id > :afterId)) " +
+           "ORDER BY t.taskDate ASC, t.id ASC")
+    List<TaskDTO> findPageByUserAndTaskDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate, @Param("afterDate") LocalDate afterDate,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Busca uma página de tarefas de um usuário por status após o cursor informado
+     * @param userId ID do usuário
      * @param completed Status de conclusão
-     * @return Lista de tarefas com o status especificado
+     * @param afterDate Data da última tarefa da página anterior
+     * @param afterId ID da última tarefa da página anterior
+     * @param pageable Tamanho da página
+     * @return Lista de TaskDTO ordenada por data e ID
      */
-    List<Task> findByUserAndCompleted(User user, Boolean completed);
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.completed = :completed " +
+           "AND (t.taskDate > :afterDate OR (t.taskDate = :afterDate AND t.id > :afterId)) " +
+           "ORDER BY t.taskDate ASC, t.id ASC")
+    List<TaskDTO> findPageByUserAndCompleted(@Param("userId") Long userId, @Param("completed") Boolean completed,
+                                             @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                             Pageable pageable);
     
     /**
-     * Busca tarefas de um usuário por prioridade
-     * @param user Usuário
+     * Busca uma página de tarefas de um usuário por prioridade após o cursor informado
+     * @param userId ID do usuário
      * @param priority Prioridade
-     * @return Lista de tarefas com a prioridade especificada
+     * @param afterDate Data da última tarefa da página anterior
+     * @param afterId ID da última tarefa da página anterior
+     * @param pageable Tamanho da página
+     * @return Lista de TaskDTO ordenada por data e ID
      */
-    List<Task> findByUserAndPriority(User user, Task.Priority priority);
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.priority = :priority " +
+           "AND (t.taskDate > :afterDate OR (t.taskDate = :afterDate AND t.id > :afterId)) " +
+           "ORDER BY t.taskDate ASC, t.id ASC")
+    List<TaskDTO> findPageByUserAndPriority(@Param("userId") Long userId, @Param("priority") Task.Priority priority,
+                                            @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                            Pageable pageable);
     
     /**
-     * Busca tarefas de um usuário por categoria
-     * @param user Usuário
+     * Busca uma página de tarefas de um usuário por categoria após o cursor informado
+     * @param userId ID do usuário
      * @param category Categoria
-     * @return Lista de tarefas da categoria especificada
+     * @param afterDate Data da última tarefa da página anterior
+     * @param afterId ID da última tarefa da página anterior
+     * @param pageable Tamanho da página
+     * @return Lista de TaskDTO ordenada por data e ID
      */
-    List<Task> findByUserAndCategory(User user, Task.Category category);
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.category = :category " +
+           "AND (t.taskDate > :afterDate OR (t.taskDate = :afterDate AND t.id > :afterId)) " +
+           "ORDER BY t.taskDate ASC, t.id ASC")
+    List<TaskDTO> findPageByUserAndCategory(@Param("userId") Long userId, @Param("category") Task.Category category,
+                                            @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                            Pageable pageable);
     
     /**
-     * Busca tarefas por título (busca parcial, case insensitive)
-     * @param user Usuário
+     * Busca uma página de tarefas por título (busca parcial, case insensitive) após o cursor informado
+     * @param userId ID do usuário
      * @param title Título ou parte do título
-     * @return Lista de tarefas encontradas
+     * @param afterDate Data da última tarefa da página anterior
+     * @param afterId ID da última tarefa da página anterior
+     * @param pageable Tamanho da página
+     * @return Lista de TaskDTO ordenada por data e ID
+     */
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+           "AND (t.taskDate > :afterDate OR (t.taskDate = :afterDate AND t.id > :afterId)) " +
+           "ORDER BY t.taskDate ASC, t.id ASC")
+    List<TaskDTO> findPageByUserAndTitle(@Param("userId") Long userId, @Param("title") String title,
+                                         @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                         Pageable pageable);
+    
+    /**
+     * Percorre todas as tarefas de um usuário com um cursor somente-leitura do banco,
+     * lendo as linhas em lotes (fetch size) em vez de materializar a lista.
+     * Deve ser consumido e fechado dentro de uma transação.
+     * @param userId ID do usuário
+     * @return Stream de TaskDTO ordenado por data e ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.taskDate ASC, t.id ASC")
+    Stream<TaskDTO> streamDtosByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Busca as tarefas do usuário criadas ou alteradas após o cursor da sincronização
+     * incremental (índice ix_tasks_user_change)
+     * @param userId ID do usuário
+     * @param afterVersion Versão da última alteração já recebida pelo cliente
+     * @param afterId ID da última tarefa já recebida nessa versão
+     * @param maxVersion Versão das tarefas lida no início da sincronização (limite superior)
+     * @param pageable Tamanho da página (apenas LIMIT)
+     * @return Lista de TaskDTO ordenada por versão de alteração e ID
+     */
+    @Query(TASK_CHANGE_SELECT + "WHERE t.user.id = :userId AND t.changeVersion <= :maxVersion " +
+           "AND (t.changeVersion > :afterVersion OR (t.changeVersion = :afterVersion AND t.id > :afterId)) " +
+           "ORDER BY t.changeVersion ASC, t.id ASC")
+    List<TaskDTO> findChangesByUser(@Param("userId") Long userId, @Param("afterVersion") Long afterVersion,
+                                    @Param("afterId") Long afterId, @Param("maxVersion") Long maxVersion,
+                                    Pageable pageable);
+    
+    /**
+     * Busca as ocorrências já materializadas das séries informadas pela data original
+     * da ocorrência (índice ux_tasks_series_occurrence), inclusive as que foram movidas
+     * para fora do período
+     * @param seriesIds IDs das séries
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @return Linhas no formato [seriesId, occurrenceDate]
+     */
+    @Query("SELECT t.seriesId, t.occurrenceDate FROM Task t WHERE t.seriesId IN :seriesIds " +
+           "AND t.occurrenceDate BETWEEN :from AND :to")
+    List<Object[]> findSeriesOccurrences(@Param("seriesIds") Collection<Long> seriesIds,
+                                         @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    /**
+     * Verifica se uma ocorrência de uma série já foi materializada
+     * @param seriesId ID da série
+     * @param occurrenceDate Data original da ocorrência
+     * @return true se já existe uma tarefa para a ocorrência
+     */
+    boolean existsBySeriesIdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+    
+    /**
+     * Desvincula da série as ocorrências materializadas (exclusão da série),
+     * que passam a ser tarefas comuns
+     * @param seriesId ID da série
+     * @param now Data/hora da alteração
+     * @param changeVersion Versão das tarefas do usuário nesta alteração (sincronização incremental)
+     * @return Número de tarefas alteradas
      */
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Task> findByUserAndTitleContainingIgnoreCase(@Param("user") User user, @Param("title") String title);
+    @Modifying
+    @Query("UPDATE Task t SET t.seriesId = NULL, t.occurrenceDate = NULL, t.updatedAt = :now, " +
+           "t.version = t.version + 1, t.changeVersion = :changeVersion WHERE t.seriesId = :seriesId")
+    int detachFromSeries(@Param("seriesId") Long seriesId, @Param("now") LocalDateTime now,
+                         @Param("changeVersion") Long changeVersion);
     
     /**
-     * Conta tarefas concluídas de um usuário
-     * @param user Usuário
-     * @return Número de tarefas concluídas
+     * Desvincula das séries todas as tarefas de um usuário (exclusão do usuário,
+     * antes da remoção das séries)
+     * @param userId ID do usuário
+     * @return Número de tarefas alteradas
      */
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.user = :user AND t.completed = true")
-    long countCompletedTasksByUser(@Param("user") User user);
+    @Modifying
+    @Query("UPDATE Task t SET t.seriesId = NULL, t.occurrenceDate = NULL " +
+           "WHERE t.user.id = :userId AND t.seriesId IS NOT NULL")
+    int detachAllByUserId(@Param("userId") Long userId);
     
     /**
-     * Conta tarefas pendentes de um usuário
-     * @param user Usuário
-     * @return Número de tarefas pendentes
+     * Marca como concluídas as tarefas informadas do usuário em um único UPDATE;
+     * completedAt é preservado se já existir (mesma regra de Task.setCompleted)
+     * @param userId ID do usuário
+     * @param ids IDs das tarefas
+     * @param now Data/hora da alteração
+     * @param changeVersion Versão das tarefas do usuário nesta alteração (sincronização incremental)
+     * @return Número de tarefas alteradas
      */
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.user = :user AND t.completed = false")
-    long countPendingTasksByUser(@Param("user") User user);
+    @Modifying
+    @Query("UPDATE Task t SET t.completed = true, t.completedAt = COALESCE(t.completedAt, :now), t.updatedAt = :now, " +
+           "t.version = t.version + 1, t.changeVersion = :changeVersion " +
+           "WHERE t.user.id = :userId AND t.id IN :ids")
+    int completeByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                                @Param("now") LocalDateTime now, @Param("changeVersion") Long changeVersion);
     
     /**
-     * Busca tarefas da semana atual de um usuário
-     * @param user Usuário
-     * @param startOfWeek Início da semana
-     * @param endOfWeek Fim da semana
-     * @return Lista de tarefas da semana
+     * Marca como pendentes as tarefas informadas do usuário em um único UPDATE
+     * @param userId ID do usuário
+     * @param ids IDs das tarefas
+     * @param now Data/hora da alteração
+     * @param changeVersion Versão das tarefas do usuário nesta alteração (sincronização incremental)
+     * @return Número de tarefas alteradas
      */
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.taskDate BETWEEN :startOfWeek AND :endOfWeek ORDER BY t.taskDate ASC")
-    List<Task> findTasksForWeek(@Param("user") User user, @Param("startOfWeek") LocalDate startOfWeek, @Param("endOfWeek") LocalDate endOfWeek);
+    @Modifying
+    @Query("UPDATE Task t SET t.completed = false, t.completedAt = NULL, t.updatedAt = :now, " +
+           "t.version = t.version + 1, t.changeVersion = :changeVersion " +
+           "WHERE t.user.id = :userId AND t.id IN :ids")
+    int uncompleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                                  @Param("now") LocalDateTime now, @Param("changeVersion") Long changeVersion);
     
     /**
-     * Busca tarefas do mês atual de um usuário
-     * @param user Usuário
-     * @param startOfMonth Início do mês
-     * @param endOfMonth Fim do mês
-     * @return Lista de tarefas do mês
+     * Remove as tarefas informadas do usuário em um único DELETE
+     * @param userId ID do usuário
+     * @param ids IDs das tarefas
+     * @return Número de tarefas removidas
      */
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.taskDate BETWEEN :startOfMonth AND :endOfMonth ORDER BY t.taskDate ASC")
-    List<Task> findTasksForMonth(@Param("user") User user, @Param("startOfMonth") LocalDate startOfMonth, @Param("endOfMonth") LocalDate endOfMonth);
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.user.id = :userId AND t.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Remove as tarefas concluídas do usuário com data anterior à informada
+     * @param userId ID do usuário
+     * @param before Data limite (exclusiva)
+     * @return Número de tarefas removidas
+     */
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.user.id = :userId AND t.completed = true AND t.taskDate < :before")
+    int deleteCompletedByUserIdBefore(@Param("userId") Long userId, @Param("before") LocalDate before);
+    
+    /**
+     * Move para uma nova data as tarefas do usuário em um período
+     * @param userId ID do usuário
+     * @param startDate Data inicial do período
+     * @param endDate Data final do período
+     * @param newDate Nova data das tarefas
+     * @param now Data/hora da alteração
+     * @param changeVersion Versão das tarefas do usuário nesta alteração (sincronização incremental)
+     * @return Número de tarefas alteradas
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.taskDate = :newDate, t.updatedAt = :now, " +
+           "t.version = t.version + 1, t.changeVersion = :changeVersion " +
+           "WHERE t.user.id = :userId AND t.taskDate BETWEEN :startDate AND :endDate")
+    int rescheduleByUserIdAndTaskDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate, @Param("newDate") LocalDate newDate,
+                                             @Param("now") LocalDateTime now, @Param("changeVersion") Long changeVersion);
+    
+    /**
+     * Marca uma tarefa do usuário como concluída com um UPDATE condicional;
+     * completedAt é preservado se já existir (mesma regra de Task.setCompleted)
+     * @param id ID da tarefa
+     * @param userId ID do usuário
+     * @param version Versão esperada (null para não verificar)
+     * @param now Data/hora da alteração
+     * @param changeVersion Versão das tarefas do usuário nesta alteração (sincronização incremental)
+     * @return 1 se alterada, 0 se inexistente, de outro usuário ou com outra versão
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.completed = true, t.completedAt = COALESCE(t.completedAt, :now), t.updatedAt = :now, " +
+           "t.version = t.version + 1, t.changeVersion = :changeVersion " +
+           "WHERE t.id = :id AND t.user.id = :userId AND (:version IS NULL OR t.version = :version)")
+    int completeByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version,
+                              @Param("now") LocalDateTime now, @Param("changeVersion") Long changeVersion);
+    
+    /**
+     * Marca uma tarefa do usuário como pendente com um UPDATE condicional
+     * @param id ID da tarefa
+     * @param userId ID do usuário
+     * @param version Versão esperada (null para não verificar)
+     * @param now Data/hora da alteração
+     * @param changeVersion Versão das tarefas do usuário nesta alteração (sincronização incremental)
+     * @return 1 se alterada, 0 se inexistente, de outro usuário ou com outra versão
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.completed = false, t.completedAt = NULL, t.updatedAt = :now, " +
+           "t.version = t.version + 1, t.changeVersion = :changeVersion " +
+           "WHERE t.id = :id AND t.user.id = :userId AND (:version IS NULL OR t.version = :version)")
+    int uncompleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version,
+                                @Param("now") LocalDateTime now, @Param("changeVersion") Long changeVersion);
 }
-
@@ -0,0 +1,55 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.entity.TaskSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskSeriesRepository extends JpaRepository<TaskSeries, Long> {
+    
+    /**
+     * Busca as séries do usuário com ocorrências possíveis em um período
+     * (índice ix_task_series_user_start), já com o usuário carregado
+     * @param userId ID do usuário
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @return Lista de séries ordenada por ID
+     */
+    @Query("SELECT s FROM TaskSeries s JOIN FETCH s.user u WHERE u.id = :userId AND s.startDate <= :to " +
+           "AND (s.endDate IS NULL OR s.endDate >= :from) ORDER BY s.id ASC")
+    List<TaskSeries> findOverlapping(@Param("userId") Long userId, @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+    
+    /**
+     * Busca todas as séries do usuário
+     * @param userId ID do usuário
+     * @return Lista de séries ordenada por data inicial e ID
+     */
+    @Query("SELECT s FROM TaskSeries s JOIN FETCH s.user u WHERE u.id = :userId ORDER BY s.startDate ASC, s.id ASC")
+    List<TaskSeries> findAllByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Busca uma série do usuário por ID, já com o usuário carregado
+     * @param id ID da série
+     * @param userId ID do usuário (propriedade verificada na própria consulta)
+     * @return Optional contendo a série se encontrada e pertencente ao usuário
+     */
+    @Query("SELECT s FROM TaskSeries s JOIN FETCH s.user u WHERE s.id = :id AND u.id = :userId")
+    Optional<TaskSeries> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    /**
+     * Remove as séries de um usuário (exclusão do usuário)
+     * @param userId ID do usuário
+     * @return Número de séries removidas
+     */
+    @Modifying
+    @Query("DELETE FROM TaskSeries s WHERE s.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.entity.TaskSeriesSkip;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskSeriesSkipRepository extends JpaRepository<TaskSeriesSkip, TaskSeriesSkip.Key> {
+    
+    /**
+     * Busca as ocorrências excluídas das séries informadas em um período
+     * @param seriesIds IDs das séries
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @return Lista de exclusões
+     */
+    @Query("SELECT k FROM TaskSeriesSkip k WHERE k.seriesId IN :seriesIds " +
+           "AND k.occurrenceDate BETWEEN :from AND :to")
+    List<TaskSeriesSkip> findBySeriesIdsAndDateBetween(@Param("seriesIds") Collection<Long> seriesIds,
+                                                      @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    /**
+     * Registra como excluídas as ocorrências materializadas entre as tarefas informadas,
+     * para que não voltem a ser expandidas; deve ser executado antes do DELETE das tarefas
+     * @param userId ID do usuário
+     * @param ids IDs das tarefas (as que não pertencem ao usuário ou a uma série são ignoradas)
+     * @return Número de registros criados
+     */
+    @Modifying
+    @Query("INSERT INTO TaskSeriesSkip (seriesId, occurrenceDate) " +
+           "SELECT t.seriesId, t.occurrenceDate FROM Task t " +
+           "WHERE t.user.id = :userId AND t.id IN :ids AND t.seriesId IS NOT NULL")
+    int insertForTasks(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Registra como excluídas as ocorrências materializadas concluídas com data anterior
+     * à informada; deve ser executado antes do DELETE das tarefas
+     * @param userId ID do usuário
+     * @param before Data limite (exclusiva)
+     * @return Número de registros criados
+     */
+    @Modifying
+    @Query("INSERT INTO TaskSeriesSkip (seriesId, occurrenceDate) " +
+           "SELECT t.seriesId, t.occurrenceDate FROM Task t " +
+           "WHERE t.user.id = :userId AND t.completed = true AND t.taskDate < :before AND t.seriesId IS NOT NULL")
+    int insertForCompletedBefore(@Param("userId") Long userId, @Param("before") LocalDate before);
+    
+    /**
+     * Remove as exclusões de uma série
+     * @param seriesId ID da série
+     * @return Número de registros removidos
+     */
+    @Modifying
+    @Query("DELETE FROM TaskSeriesSkip k WHERE k.seriesId = :seriesId")
+    int deleteBySeriesId(@Param("seriesId") Long seriesId);
+    
+    /**
+     * Remove as exclusões de todas as séries de um usuário (exclusão do usuário)
+     * @param userId ID do usuário
+     * @return Número de registros removidos
+     */
+    @Modifying
+    @Query("DELETE FROM TaskSeriesSkip k WHERE k.seriesId IN " +
+           "(SELECT s.id FROM TaskSeries s WHERE s.user.id = :userId)")
+    int deleteByUserId(@Param("userId") Long userId);
+}
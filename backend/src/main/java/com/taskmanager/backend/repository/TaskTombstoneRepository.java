@@ -0,0 +1,83 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.entity.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    
+    /**
+     * Busca as exclusões do usuário posteriores ao cursor, em ordem de versão
+     * @param userId ID do usuário
+     * @param afterVersion Versão da última alteração já recebida pelo cliente
+     * @param afterId ID da última tarefa já recebida nessa versão
+     * @param maxVersion Versão das tarefas lida no início da sincronização (limite superior)
+     * @param pageable Tamanho da página (apenas LIMIT)
+     * @return Lista ordenada por versão e ID da tarefa
+     */
+    @Query("SELECT tt FROM TaskTombstone tt WHERE tt.userId = :userId AND tt.changeVersion <= :maxVersion " +
+           "AND (tt.changeVersion > :afterVersion OR (tt.changeVersion = :afterVersion AND tt.taskId > :afterId)) " +
+           "ORDER BY tt.changeVersion ASC, tt.taskId ASC")
+    List<TaskTombstone> findPageByUser(@Param("userId") Long userId, @Param("afterVersion") Long afterVersion,
+                                       @Param("afterId") Long afterId, @Param("maxVersion") Long maxVersion,
+                                       Pageable pageable);
+    
+    /**
+     * Registra a exclusão das tarefas informadas do usuário com um único INSERT ... SELECT;
+     * deve ser executado antes do DELETE das tarefas
+     * @param userId ID do usuário
+     * @param ids IDs das tarefas (as que não pertencem ao usuário são ignoradas)
+     * @param changeVersion Versão das tarefas do usuário na exclusão
+     * @param now Data/hora da exclusão
+     * @return Número de registros criados
+     */
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, userId, changeVersion, deletedAt) " +
+           "SELECT t.id, t.user.id, :changeVersion, :now FROM Task t WHERE t.user.id = :userId AND t.id IN :ids")
+    int insertForTasks(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                       @Param("changeVersion") Long changeVersion, @Param("now") LocalDateTime now);
+    
+    /**
+     * Registra a exclusão das tarefas concluídas do usuário com data anterior à informada;
+     * deve ser executado antes do DELETE das tarefas
+     * @param userId ID do usuário
+     * @param before Data limite (exclusiva)
+     * @param changeVersion Versão das tarefas do usuário na exclusão
+     * @param now Data/hora da exclusão
+     * @return Número de registros criados
+     */
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, userId, changeVersion, deletedAt) " +
+           "SELECT t.id, t.user.id, :changeVersion, :now FROM Task t " +
+           "WHERE t.user.id = :userId AND t.completed = true AND t.taskDate < :before")
+    int insertForCompletedBefore(@Param("userId") Long userId, @Param("before") LocalDate before,
+                                 @Param("changeVersion") Long changeVersion, @Param("now") LocalDateTime now);
+    
+    /**
+     * Remove os registros de exclusão anteriores ao período de retenção
+     * @param cutoff Exclusões anteriores a esta data/hora são descartadas
+     * @return Número de registros removidos
+     */
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Remove os registros de exclusão de um usuário (exclusão do usuário)
+     * @param userId ID do usuário
+     * @return Número de registros removidos
+     */
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.backend.repository;
+
+import com.taskmanager.backend.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    
+    /**
+     * Busca a revogação mais recente de cada usuário a partir da época informada
+     * @param since Época mínima em segundos (revogações anteriores só afetam tokens já expirados)
+     * @return Lista de [userId, notBefore]
+     */
+    @Query("SELECT r.userId, MAX(r.notBefore) FROM TokenRevocation r WHERE r.notBefore >= :since GROUP BY r.userId")
+    List<Object[]> findLatestSince(@Param("since") Long since);
+    
+    /**
+     * Remove as revogações anteriores à época informada
+     * @param before Época em segundos (exclusiva)
+     * @return Número de registros removidos
+     */
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.notBefore < :before")
+    int deleteNotBeforeBefore(@Param("before") Long before);
+}
@@ -2,10 +2,12 @@ package com.taskmanager.backend.repository;
 
 import com.taskmanager.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -39,5 +41,49 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT COUNT(u) FROM User u")
     long countTotalUsers();
+    
+    /**
+     * Busca a versão das tarefas de um usuário (incrementada a cada alteração)
+     * @param id ID do usuário
+     * @return Optional contendo a versão se o usuário existir
+     */
+    @Query("SELECT u.tasksVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTasksVersionById(@Param("id") Long id);
+    
+    /**
+     * Busca apenas o nome de um usuário
+     * @param id ID do usuário
+     * @return Optional contendo o nome se o usuário existir
+     */
+    @Query("SELECT u.name FROM User u WHERE u.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+    
+    /**
+     * Incrementa a versão das tarefas de um usuário na transação corrente
+     * @param id ID do usuário
+     * @return Número de linhas atualizadas
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tasksVersion = u.tasksVersion + 1 WHERE u.id = :id")
+    int incrementTasksVersion(@Param("id") Long id);
+    
+    /**
+     * Busca a maior versão de exclusão já descartada pela limpeza dos tombstones
+     * @param id ID do usuário
+     * @return Optional contendo a versão se o usuário existir
+     */
+    @Query("SELECT u.tasksSyncFloor FROM User u WHERE u.id = :id")
+    Optional<Long> findTasksSyncFloorById(@Param("id") Long id);
+    
+    /**
+     * Registra, para cada usuário, a maior versão dos tombstones que serão descartados;
+     * deve ser executado antes de TaskTombstoneRepository.deleteDeletedBefore com o mesmo limite
+     * @param cutoff Exclusões anteriores a esta data/hora serão descartadas
+     * @return Número de usuários atualizados
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tasksSyncFloor = " +
+           "(SELECT MAX(tt.changeVersion) FROM TaskTombstone tt WHERE tt.userId = u.id AND tt.deletedAt < :cutoff) " +
+           "WHERE EXISTS (SELECT 1 FROM TaskTombstone tt WHERE tt.userId = u.id AND tt.deletedAt < :cutoff)")
+    int raiseTasksSyncFloor(@Param("cutoff") LocalDateTime cutoff);
 }
-
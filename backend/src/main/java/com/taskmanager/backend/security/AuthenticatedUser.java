@@ -0,0 +1,79 @@
+package com.taskmanager.backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal colocado no SecurityContext pelo JwtAuthenticationFilter.
+ * Carrega o ID e o nome do usuário vindos do token, para que os controllers
+ * não precisem reprocessar o header Authorization.
+ */
+public class AuthenticatedUser implements UserDetails {
+    
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
+    
+    public AuthenticatedUser(Long id, String name, String email) {
+        this(id, name, email, Collections.emptyList());
+    }
+    
+    public AuthenticatedUser(Long id, String name, String email,
+                             Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.authorities = authorities;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+    
+    @Override
+    public String getPassword() {
+        return null; // A senha nunca é carregada para requisições autenticadas por token
+    }
+    
+    @Override
+    public String getUsername() {
+        return email;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -1,31 +1,53 @@
 package com.taskmanager.backend.security;
 
+import com.taskmanager.backend.config.PrimaryReads;
 import com.taskmanager.backend.entity.User;
 import com.taskmanager.backend.repository.UserRepository;
+import com.taskmanager.backend.service.CachedUser;
+import com.taskmanager.backend.service.UserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private PrimaryReads primaryReads;
+    
+    /**
+     * Carrega o usuário para a verificação de senha do login. Lê sempre do banco
+     * primário (nunca do UserCache nem de uma réplica), para que uma senha trocada
+     * em outra instância deixe de valer imediatamente
+     * @param email Email do usuário
+     * @return UserAccountDetails com o hash da senha atual
+     * @throws UsernameNotFoundException se usuário não encontrado
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = primaryReads.read(() -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
         
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                new ArrayList<>() // Authorities vazias por enquanto
-        );
+        return new UserAccountDetails(CachedUser.from(user), user.getPassword());
+    }
+    
+    /**
+     * Carrega a cópia em cache do usuário (sem o hash da senha) para as requisições autenticadas
+     * @param email Email do usuário
+     * @return CachedUser
+     * @throws UsernameNotFoundException se usuário não encontrado
+     */
+    public CachedUser loadCachedUserByEmail(String email) throws UsernameNotFoundException {
+        return userCache.findByEmail(email, () -> userRepository.findByEmail(email))
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
     }
     
     /**
@@ -1,13 +1,14 @@
 package com.taskmanager.backend.security;
 
+import com.taskmanager.backend.service.CachedUser;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,46 +19,70 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache tokenCache;
+    
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
     
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    // Quando habilitado, confia nos claims assinados e não consulta a tabela users
+    @Value("${jwt.stateless-auth:false}")
+    private boolean statelessAuth;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
+        VerifiedToken token = null;
         
         // Verificar se o header Authorization está presente e começa com "Bearer "
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7); // Remove "Bearer " do início
+            String jwt = authorizationHeader.substring(7); // Remove "Bearer " do início
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Assinatura e expiração são verificadas uma única vez (ou servidas do cache)
+                token = tokenCache.resolve(jwt);
             } catch (Exception e) {
-                logger.error("Erro ao extrair username do token JWT", e);
+                logger.error("Erro ao validar token JWT", e);
             }
         }
         
-        // Se o username foi extraído e não há autenticação no contexto
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        // Tokens emitidos antes de troca de senha/email ou remoção do usuário são rejeitados
+        if (token != null && revocationRegistry.isRevoked(token.getUserId(), token.getIssuedAt())) {
+            logger.debug("Token JWT revogado para o usuário " + token.getUserId());
+            token = null;
+        }
+        
+        // Se o token é válido e não há autenticação no contexto
+        if (token != null && token.getEmail() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             
-            // Validar o token
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = 
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            AuthenticatedUser principal = buildPrincipal(token);
+            UsernamePasswordAuthenticationToken authToken = 
+                new UsernamePasswordAuthenticationToken(
+                    principal, null, principal.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Monta o principal a partir dos claims; no modo stateless não há consulta
+     * ao banco, caso contrário o usuário é carregado pelo email
+     * @param token Token verificado
+     * @return AuthenticatedUser
+     */
+    private AuthenticatedUser buildPrincipal(VerifiedToken token) {
+        if (statelessAuth && token.getUserId() != null) {
+            return new AuthenticatedUser(token.getUserId(), token.getName(), token.getEmail());
+        }
+        
+        CachedUser user = this.userDetailsService.loadCachedUserByEmail(token.getEmail());
+        return new AuthenticatedUser(token.getUserId(), token.getName(), user.getEmail());
+    }
 }
-
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
@@ -21,8 +22,24 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 horas em millisegundos
     private Long expiration;
     
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    /**
+     * Constrói a chave de assinatura e o parser uma única vez;
+     * ambos são imutáveis e thread-safe
+     */
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
     
     /**
@@ -60,11 +77,25 @@ public class JwtUtil {
      * @return Claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+    
+    /**
+     * Verifica assinatura e expiração do token uma única vez e extrai os
+     * claims usados pela aplicação
+     * @param token Token JWT
+     * @return VerifiedToken com email, ID e nome do usuário
+     * @throws JwtException se o token for inválido ou estiver expirado
+     */
+    public VerifiedToken parseVerifiedToken(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                toLong(claims.get("userId")),
+                (String) claims.get("name"),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
     }
     
     /**
@@ -94,10 +125,21 @@ public class JwtUtil {
      * @return Token JWT
      */
     public String generateToken(UserDetails userDetails, Long userId, String name) {
+        return generateToken(userDetails.getUsername(), userId, name);
+    }
+    
+    /**
+     * Gera um token JWT com claims customizados a partir do email do usuário
+     * @param email Email do usuário (subject)
+     * @param userId ID do usuário
+     * @param name Nome do usuário
+     * @return Token JWT
+     */
+    public String generateToken(String email, Long userId, String name) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("name", name);
-        return createToken(claims, userDetails.getUsername());
+        return createToken(claims, email);
     }
     
     /**
@@ -123,8 +165,8 @@ public class JwtUtil {
      * @return true se válido, false caso contrário
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
     }
     
     /**
@@ -134,13 +176,7 @@ public class JwtUtil {
      */
     public Long extractUserId(String token) {
         Claims claims = extractAllClaims(token);
-        Object userIdObj = claims.get("userId");
-        if (userIdObj instanceof Integer) {
-            return ((Integer) userIdObj).longValue();
-        } else if (userIdObj instanceof Long) {
-            return (Long) userIdObj;
-        }
-        return null;
+        return toLong(claims.get("userId"));
     }
     
     /**
@@ -165,5 +201,18 @@ public class JwtUtil {
             return false;
         }
     }
+    
+    /**
+     * Converte o claim numérico do ID (Integer ou Long, dependendo do tamanho) para Long
+     * @param userIdObj Valor do claim
+     * @return ID do usuário ou null
+     */
+    private Long toLong(Object userIdObj) {
+        if (userIdObj instanceof Integer) {
+            return ((Integer) userIdObj).longValue();
+        } else if (userIdObj instanceof Long) {
+            return (Long) userIdObj;
+        }
+        return null;
+    }
 }
-
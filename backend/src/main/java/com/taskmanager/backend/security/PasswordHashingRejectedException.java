@@ -0,0 +1,19 @@
+package com.taskmanager.backend.security;
+
+/**
+ * Lançada quando a fila de hashing de senhas está cheia.
+ * ApiExceptionHandler a traduz em 503 com o header Retry-After.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Fila de autenticação cheia, tente novamente em instantes");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
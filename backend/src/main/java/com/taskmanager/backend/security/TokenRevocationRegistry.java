@@ -0,0 +1,122 @@
+package com.taskmanager.backend.security;
+
+import com.taskmanager.backend.config.PrimaryReads;
+import com.taskmanager.backend.entity.TokenRevocation;
+import com.taskmanager.backend.repository.TokenRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro da "época" de tokens de cada usuário.
+ * Quando a senha ou o email mudam, ou o usuário é removido, a época avança e
+ * todos os tokens emitidos antes dela passam a ser rejeitados, sem que o
+ * filtro precise consultar o banco a cada requisição.
+ *
+ * A revogação é gravada em token_revocations na transação da alteração e a
+ * cópia em memória é recarregada na inicialização e a cada
+ * jwt.revocation.refresh-seconds: sobrevive a reinícios e chega às demais
+ * instâncias dentro desse intervalo. Só são mantidas as revogações dentro da
+ * janela de expiração dos tokens, por isso o registro permanece pequeno.
+ */
+@Component
+public class TokenRevocationRegistry implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+    
+    private final TokenRevocationRepository revocationRepository;
+    private final PrimaryReads primaryReads;
+    private final TransactionTemplate transactionTemplate;
+    private final long expirationSeconds;
+    private final ScheduledExecutorService executor;
+    
+    // userId -> época em segundos (mesma precisão do claim "iat")
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+    
+    public TokenRevocationRegistry(TokenRevocationRepository revocationRepository,
+                                   PrimaryReads primaryReads,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${jwt.expiration:86400000}") long expiration,
+                                   @Value("${jwt.revocation.refresh-seconds:5}") long refreshSeconds) {
+        this.revocationRepository = revocationRepository;
+        this.primaryReads = primaryReads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expirationSeconds = expiration / 1000;
+        
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A carga inicial termina antes de o servidor aceitar requisições
+        refresh();
+        executor.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Invalida todos os tokens emitidos até agora para o usuário; a revogação é
+     * gravada na transação corrente (a da alteração do usuário)
+     * @param userId ID do usuário
+     */
+    public void revokeAll(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        revocationRepository.save(new TokenRevocation(userId, nowSeconds));
+        epochs.merge(userId, nowSeconds, Math::max);
+    }
+    
+    /**
+     * Verifica se o token foi emitido antes da época atual do usuário
+     * @param userId ID do usuário
+     * @param issuedAt Data de emissão do token
+     * @return true se o token foi revogado, false caso contrário
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+        Long epoch = epochs.get(userId);
+        if (epoch == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 < epoch;
+    }
+    
+    /**
+     * Recarrega as revogações gravadas (inclusive por outras instâncias) e descarta
+     * as mais antigas que a validade dos tokens: qualquer token emitido antes delas
+     * já expirou de qualquer forma
+     */
+    void refresh() {
+        long oldestRelevant = System.currentTimeMillis() / 1000 - expirationSeconds;
+        try {
+            for (Object[] row : primaryReads.read(() -> revocationRepository.findLatestSince(oldestRelevant))) {
+                epochs.merge((Long) row[0], (Long) row[1], Math::max);
+            }
+            epochs.values().removeIf(epoch -> epoch < oldestRelevant);
+            transactionTemplate.executeWithoutResult(status -> revocationRepository.deleteNotBeforeBefore(oldestRelevant));
+        } catch (RuntimeException e) {
+            // Falha de banco: mantém as revogações já carregadas e tenta novamente no próximo ciclo
+            logger.warn("Erro ao recarregar revogações de tokens: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskmanager.backend.security;
+
+import com.taskmanager.backend.service.CachedUser;
+
+import java.util.ArrayList;
+
+/**
+ * UserDetails usado na verificação de senha que mantém a cópia do usuário
+ * carregada, para que o login possa gerar o token e o UserDTO sem uma nova
+ * consulta ao banco. O hash da senha vem da mesma leitura, nunca do UserCache.
+ */
+public class UserAccountDetails extends org.springframework.security.core.userdetails.User {
+    
+    private final CachedUser user;
+    
+    public UserAccountDetails(CachedUser user, String passwordHash) {
+        super(user.getEmail(), passwordHash, new ArrayList<>()); // Authorities vazias por enquanto
+        this.user = user;
+    }
+    
+    public CachedUser getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskmanager.backend.security;
+
+import java.util.Date;
+
+/**
+ * Resultado imutável de um token JWT já verificado (assinatura e expiração).
+ * Guarda apenas os claims usados pela aplicação, para que o token não
+ * precise ser decodificado novamente durante a requisição.
+ */
+public final class VerifiedToken {
+    
+    private final String email;
+    private final Long userId;
+    private final String name;
+    private final Date issuedAt;
+    private final Date expiration;
+    
+    public VerifiedToken(String email, Long userId, String name, Date issuedAt, Date expiration) {
+        this.email = email;
+        this.userId = userId;
+        this.name = name;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+    
+    public Date getExpiration() {
+        return expiration;
+    }
+    
+    /**
+     * Verifica se o token já expirou no instante informado
+     * @param nowMillis Instante atual em millisegundos
+     * @return true se expirado, false caso contrário
+     */
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.backend.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache limitado de tokens JWT já verificados.
+ * A chave é o digest SHA-256 do token (o token em si nunca fica em memória),
+ * as entradas mais antigas são descartadas em ordem LRU e tokens expirados
+ * são removidos no momento da leitura.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    private final Map<String, VerifiedToken> entries;
+    
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, VerifiedToken>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+    
+    /**
+     * Retorna os claims verificados do token, validando a assinatura apenas
+     * na primeira vez em que o token é visto
+     * @param token Token JWT
+     * @return VerifiedToken
+     * @throws io.jsonwebtoken.JwtException se o token for inválido ou estiver expirado
+     */
+    public VerifiedToken resolve(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            entries.remove(key);
+        }
+        
+        VerifiedToken verified = jwtUtil.parseVerifiedToken(token);
+        entries.put(key, verified);
+        return verified;
+    }
+    
+    /**
+     * Remove todas as entradas do cache
+     */
+    public void clear() {
+        entries.clear();
+    }
+    
+    private String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
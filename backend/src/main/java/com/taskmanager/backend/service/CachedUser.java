@@ -0,0 +1,57 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cópia imutável dos dados de um usuário guardada no UserCache.
+ * Ao contrário da entidade, pode ser compartilhada entre requisições sem risco
+ * de ser alterada ou salva por engano. Não guarda o hash da senha: o login o lê
+ * sempre do banco, para que uma troca de senha em qualquer instância valha de imediato.
+ */
+public final class CachedUser {
+    
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    
+    private CachedUser(User user) {
+        this.id = user.getId();
+        this.name = user.getName();
+        this.email = user.getEmail();
+        this.createdAt = user.getCreatedAt();
+        this.updatedAt = user.getUpdatedAt();
+    }
+    
+    /**
+     * Copia os dados da entidade carregada do banco
+     * @param user Entidade User
+     * @return CachedUser
+     */
+    public static CachedUser from(User user) {
+        return new CachedUser(user);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
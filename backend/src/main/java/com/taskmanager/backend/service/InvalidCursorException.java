@@ -0,0 +1,12 @@
+package com.taskmanager.backend.service;
+
+/**
+ * Lançada quando o cursor de paginação recebido do cliente não pode ser
+ * decodificado ou não pertence à listagem. O TaskController a traduz em 400.
+ */
+public class InvalidCursorException extends RuntimeException {
+    
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.backend.service;
+
+/**
+ * Lançada quando os critérios da busca de tarefas são inválidos (ordenação
+ * desconhecida, data inicial posterior à final). O ApiExceptionHandler a
+ * traduz em 400.
+ */
+public class InvalidTaskQueryException extends RuntimeException {
+    
+    public InvalidTaskQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmanager.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da sincronização incremental sobre (versão de alteração, id).
+ * Aponta para a última alteração recebida pelo cliente; a próxima sincronização
+ * retorna apenas as tarefas criadas, alteradas ou removidas depois dela.
+ */
+public final class TaskChangeCursor implements Comparable<TaskChangeCursor> {
+    
+    /**
+     * Posição anterior a qualquer alteração (sincronização completa)
+     */
+    public static final TaskChangeCursor START = new TaskChangeCursor(0L, 0L);
+    
+    private final long changeVersion;
+    private final long id;
+    
+    public TaskChangeCursor(long changeVersion, long id) {
+        this.changeVersion = changeVersion;
+        this.id = id;
+    }
+    
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    /**
+     * Posição após todas as alterações de uma versão
+     * @param changeVersion Versão das tarefas
+     * @return TaskChangeCursor
+     */
+    public static TaskChangeCursor endOf(long changeVersion) {
+        return new TaskChangeCursor(changeVersion, Long.MAX_VALUE);
+    }
+    
+    @Override
+    public int compareTo(TaskChangeCursor other) {
+        int result = Long.compare(changeVersion, other.changeVersion);
+        return result != 0 ? result : Long.compare(id, other.id);
+    }
+    
+    /**
+     * Codifica o cursor em uma string opaca e segura para URL
+     * @return Cursor codificado
+     */
+    public String encode() {
+        String raw = changeVersion + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodifica o cursor recebido do cliente
+     * @param value Cursor codificado (null ou vazio para a sincronização completa)
+     * @return TaskChangeCursor
+     * @throws InvalidCursorException se o cursor for inválido
+     */
+    public static TaskChangeCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long changeVersion = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            if (changeVersion < 0 || id < 0) {
+                throw new InvalidCursorException("Cursor inválido");
+            }
+            return new TaskChangeCursor(changeVersion, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.backend.service;
+
+/**
+ * Lançada quando o cursor da sincronização incremental é anterior às exclusões
+ * já descartadas pela limpeza dos tombstones: as alterações desde o cursor não
+ * podem mais ser reconstruídas. O TaskController a traduz em 410 Gone.
+ */
+public class TaskChangeCursorExpiredException extends RuntimeException {
+    
+    public TaskChangeCursorExpiredException() {
+        super("Cursor de sincronização expirado; descarte as tarefas locais e sincronize sem cursor");
+    }
+}
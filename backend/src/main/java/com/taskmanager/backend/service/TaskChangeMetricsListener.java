@@ -0,0 +1,36 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores de alterações de tarefas por tipo (tasks.changes), alimentados
+ * pelo outbox em vez de serem incrementados dentro da transação de escrita
+ */
+@Component
+public class TaskChangeMetricsListener implements TaskDomainEventListener {
+    
+    private final Map<TaskOutboxEvent.Type, Counter> counters = new EnumMap<>(TaskOutboxEvent.Type.class);
+    
+    public TaskChangeMetricsListener(MeterRegistry meterRegistry) {
+        for (TaskOutboxEvent.Type type : TaskOutboxEvent.Type.values()) {
+            counters.put(type, Counter.builder("tasks.changes")
+                    .description("Alterações de tarefas registradas no outbox")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+    
+    @Override
+    public void onTaskEvents(List<TaskDomainEvent> events) {
+        for (TaskDomainEvent event : events) {
+            counters.get(event.getType()).increment();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.TaskChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Notificação de alterações nas tarefas de um usuário para conexões que
+ * aguardam mudanças (streams SSE). Os assinantes não ocupam threads
+ * enquanto esperam: são chamados após o commit da transação que alterou as
+ * tarefas. Para cada usuário com conexões recentes é mantido um histórico
+ * curto dos eventos, usado para retomar um stream a partir do último evento
+ * recebido (Last-Event-ID). O número de usuários acompanhados é limitado (LRU).
+ */
+@Component
+public class TaskChangeNotifier {
+
+    private final int maxSubscribersPerUser;
+    private final int historySize;
+    private final Map<Long, Channel> channels;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public TaskChangeNotifier(@Value("${tasks.events.max-subscribers-per-user:20}") int maxSubscribersPerUser,
+                              @Value("${tasks.events.history-size:100}") int historySize,
+                              @Value("${tasks.events.max-users:10000}") int maxUsers,
+                              MeterRegistry meterRegistry) {
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.historySize = historySize;
+        this.channels = Collections.synchronizedMap(new LinkedHashMap<Long, Channel>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Channel> eldest) {
+                // Usuários com conexões abertas nunca são descartados
+                return size() > maxUsers && eldest.getValue().subscribers.isEmpty();
+            }
+        });
+        Gauge.builder("tasks.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Conexões aguardando alterações de tarefas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra um assinante para as alterações do usuário
+     * @param userId ID do usuário
+     * @param listener Chamado com cada evento de alteração
+     * @return Ação que cancela a assinatura
+     * @throws IllegalStateException se o usuário já tiver o máximo de assinantes
+     */
+    public Runnable subscribe(Long userId, Consumer<TaskChangeEvent> listener) {
+        Channel channel;
+        synchronized (channels) {
+            channel = channels.computeIfAbsent(userId, id -> new Channel());
+            if (channel.subscribers.size() >= maxSubscribersPerUser) {
+                throw new IllegalStateException("Limite de conexões simultâneas de acompanhamento atingido");
+            }
+            channel.subscribers.add(listener);
+        }
+        subscriberCount.incrementAndGet();
+
+        return () -> {
+            if (channel.subscribers.remove(listener)) {
+                subscriberCount.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Indica se há conexões recentes para o usuário (evita montar eventos sem necessidade)
+     * @param userId ID do usuário
+     * @return true se o usuário tiver assinantes ou histórico de eventos
+     */
+    public boolean hasSubscribers(Long userId) {
+        return channels.containsKey(userId);
+    }
+
+    /**
+     * Eventos do histórico posteriores a uma versão, para retomar um stream
+     * @param userId ID do usuário
+     * @param lastVersion Última versão recebida pelo cliente
+     * @param currentVersion Versão atual das tarefas do usuário
+     * @return Eventos em ordem, ou null se o histórico não cobrir todas as alterações desde lastVersion
+     */
+    public List<TaskChangeEvent> eventsSince(Long userId, long lastVersion, long currentVersion) {
+        if (lastVersion >= currentVersion) {
+            return Collections.emptyList();
+        }
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            return null;
+        }
+        List<TaskChangeEvent> events = new ArrayList<>();
+        synchronized (channel) {
+            long expected = lastVersion + 1;
+            for (TaskChangeEvent event : channel.history.values()) {
+                if (event.getVersion() < expected) {
+                    continue;
+                }
+                if (event.getVersion() != expected) {
+                    return null;
+                }
+                events.add(event);
+                expected++;
+            }
+        }
+        return events.isEmpty() || events.get(events.size() - 1).getVersion() < currentVersion ? null : events;
+    }
+
+    /**
+     * Notifica os assinantes do usuário; dentro de uma transação a notificação
+     * ocorre apenas após o commit
+     * @param userId ID do usuário
+     * @param event Evento de alteração
+     */
+    public void publish(Long userId, TaskChangeEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(userId, event);
+                }
+            });
+        } else {
+            deliver(userId, event);
+        }
+    }
+
+    private void deliver(Long userId, TaskChangeEvent event) {
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            // Ordenado pela versão: commits concorrentes podem notificar fora de ordem
+            channel.history.put(event.getVersion(), event);
+            if (channel.history.size() > historySize) {
+                channel.history.pollFirstEntry();
+            }
+        }
+        channel.subscribers.forEach(listener -> listener.accept(event));
+    }
+
+    /**
+     * Assinantes e histórico recente de eventos de um usuário
+     */
+    private static final class Channel {
+        private final Set<Consumer<TaskChangeEvent>> subscribers = new CopyOnWriteArraySet<>();
+        private final TreeMap<Long, TaskChangeEvent> history = new TreeMap<>();
+    }
+}
@@ -0,0 +1,128 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.TaskDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginação por keyset sobre (taskDate, id).
+ * O cliente recebe apenas a string codificada e a devolve para buscar a
+ * próxima página; o servidor continua a partir da última linha retornada,
+ * sem OFFSET, por isso o custo é o mesmo em qualquer profundidade.
+ * Nas listagens que incluem as ocorrências virtuais das séries (sem id), a
+ * posição de uma ocorrência é (taskDate, seriesId), depois das tarefas gravadas
+ * da mesma data.
+ */
+public final class TaskCursor {
+    
+    /**
+     * Posição anterior a qualquer tarefa (primeira página)
+     */
+    public static final TaskCursor FIRST = new TaskCursor(LocalDate.of(1, 1, 1), 0L);
+    
+    /**
+     * Posição posterior a qualquer tarefa (primeira página em ordem decrescente)
+     */
+    public static final TaskCursor LAST = new TaskCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+    
+    private static final String OCCURRENCE_PREFIX = "s";
+    
+    private final LocalDate taskDate;
+    private final Long id;
+    private final Long seriesId;
+    
+    public TaskCursor(LocalDate taskDate, Long id) {
+        this(taskDate, id, null);
+    }
+    
+    private TaskCursor(LocalDate taskDate, Long id, Long seriesId) {
+        this.taskDate = taskDate;
+        this.id = id;
+        this.seriesId = seriesId;
+    }
+    
+    /**
+     * Posição de uma ocorrência virtual de série
+     * @param taskDate Data da ocorrência
+     * @param seriesId ID da série
+     * @return TaskCursor
+     */
+    public static TaskCursor ofOccurrence(LocalDate taskDate, Long seriesId) {
+        return new TaskCursor(taskDate, null, seriesId);
+    }
+    
+    /**
+     * Posição da linha de uma página (tarefa gravada ou ocorrência virtual)
+     * @param task Tarefa da página
+     * @return TaskCursor
+     */
+    public static TaskCursor of(TaskDTO task) {
+        return task.getId() != null
+                ? new TaskCursor(task.getTaskDate(), task.getId())
+                : ofOccurrence(task.getTaskDate(), task.getSeriesId());
+    }
+    
+    public LocalDate getTaskDate() {
+        return taskDate;
+    }
+    
+    /**
+     * ID da tarefa (null se o cursor estiver em uma ocorrência virtual)
+     */
+    public Long getId() {
+        return id;
+    }
+    
+    /**
+     * ID da série da ocorrência virtual (null se o cursor estiver em uma tarefa gravada)
+     */
+    public Long getSeriesId() {
+        return seriesId;
+    }
+    
+    /**
+     * Codifica o cursor em uma string opaca e segura para URL
+     * @return Cursor codificado
+     */
+    public String encode() {
+        String raw = taskDate + ":" + (seriesId != null ? OCCURRENCE_PREFIX + seriesId : id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodifica o cursor recebido do cliente
+     * @param value Cursor codificado (null ou vazio para a primeira página)
+     * @return TaskCursor
+     * @throws InvalidCursorException se o cursor for inválido
+     */
+    public static TaskCursor decode(String value) {
+        return decode(value, FIRST);
+    }
+    
+    /**
+     * Decodifica o cursor recebido do cliente
+     * @param value Cursor codificado (null ou vazio para a primeira página)
+     * @param start Posição inicial usada quando não há cursor
+     * @return TaskCursor
+     * @throws InvalidCursorException se o cursor for inválido
+     */
+    public static TaskCursor decode(String value, TaskCursor start) {
+        if (value == null || value.isBlank()) {
+            return start;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            LocalDate taskDate = LocalDate.parse(raw.substring(0, separator));
+            String position = raw.substring(separator + 1);
+            return position.startsWith(OCCURRENCE_PREFIX)
+                    ? ofOccurrence(taskDate, Long.parseLong(position.substring(OCCURRENCE_PREFIX.length())))
+                    : new TaskCursor(taskDate, Long.parseLong(position));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio de alteração de tarefa, entregue aos listeners pelo
+ * TaskOutboxDispatcher. A entrega é ao menos uma vez: o mesmo evento (mesmo ID)
+ * pode ser recebido novamente após uma falha.
+ */
+public final class TaskDomainEvent {
+    
+    private final long id;
+    private final Long userId;
+    private final long tasksVersion;
+    private final Long taskId;
+    private final TaskOutboxEvent.Type type;
+    private final TaskDTO task;
+    private final LocalDateTime occurredAt;
+    
+    public TaskDomainEvent(long id, Long userId, long tasksVersion, Long taskId, TaskOutboxEvent.Type type,
+                           TaskDTO task, LocalDateTime occurredAt) {
+        this.id = id;
+        this.userId = userId;
+        this.tasksVersion = tasksVersion;
+        this.taskId = taskId;
+        this.type = type;
+        this.task = task;
+        this.occurredAt = occurredAt;
+    }
+    
+    /**
+     * ID do evento no outbox (use para descartar entregas repetidas; não indica a ordem)
+     */
+    public long getId() {
+        return id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    /**
+     * Versão das tarefas do usuário na alteração (crescente por usuário; eventos
+     * de uma mesma alteração em lote compartilham a versão)
+     */
+    public long getTasksVersion() {
+        return tasksVersion;
+    }
+    
+    /**
+     * ID da tarefa alterada (null em alterações em lote)
+     */
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public TaskOutboxEvent.Type getType() {
+        return type;
+    }
+    
+    /**
+     * Estado da tarefa após a alteração (null em exclusões e alterações em lote)
+     */
+    public TaskDTO getTask() {
+        return task;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
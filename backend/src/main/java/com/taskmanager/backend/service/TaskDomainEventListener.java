@@ -0,0 +1,19 @@
+package com.taskmanager.backend.service;
+
+import java.util.List;
+
+/**
+ * Consumidor dos eventos de alteração de tarefas gravados no outbox.
+ * Beans que implementam esta interface recebem os eventos em lotes de um único
+ * usuário, fora da transação que os gerou, em ordem de versão das tarefas do usuário.
+ * Uma exceção faz o lote ser reentregue a todos os listeners após um intervalo
+ * crescente; enquanto isso os eventos seguintes do mesmo usuário aguardam.
+ */
+public interface TaskDomainEventListener {
+    
+    /**
+     * Processa um lote de eventos de um usuário
+     * @param events Eventos em ordem de versão
+     */
+    void onTaskEvents(List<TaskDomainEvent> events);
+}
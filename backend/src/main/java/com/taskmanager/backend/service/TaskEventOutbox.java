@@ -0,0 +1,61 @@
+package com.taskmanager.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+import com.taskmanager.backend.repository.TaskOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Grava os eventos de alteração de tarefas no outbox, sempre dentro da
+ * transação da alteração: o evento existe se e somente se a alteração foi
+ * confirmada. A entrega aos listeners é feita depois pelo TaskOutboxDispatcher.
+ */
+@Component
+public class TaskEventOutbox {
+    
+    private static final int MAX_PAYLOAD_LENGTH = 4000;
+    
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${tasks.outbox.enabled:true}")
+    private boolean enabled;
+    
+    /**
+     * Adiciona um evento ao outbox na transação corrente
+     * @param userId ID do usuário dono da tarefa
+     * @param tasksVersion Versão das tarefas do usuário nesta alteração (ordena os eventos do usuário)
+     * @param type Tipo da alteração
+     * @param taskId ID da tarefa (null em alterações em lote)
+     * @param task Estado da tarefa após a alteração (null em exclusões e alterações em lote)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Long userId, long tasksVersion, TaskOutboxEvent.Type type, Long taskId, TaskDTO task) {
+        if (!enabled) {
+            return;
+        }
+        outboxRepository.save(new TaskOutboxEvent(userId, tasksVersion, taskId, type, serialize(task)));
+    }
+    
+    private String serialize(TaskDTO task) {
+        if (task == null) {
+            return null;
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(task);
+            // Não cabe na coluna: o evento segue sem o estado da tarefa (os listeners podem consultá-la pelo ID)
+            return payload.length() <= MAX_PAYLOAD_LENGTH ? payload : null;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar evento da tarefa", e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.taskmanager.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação das tarefas de um usuário em NDJSON ou CSV.
+ * As linhas são lidas do banco por um cursor e escritas diretamente na saída,
+ * com flush a cada lote, sem montar a lista completa em memória.
+ */
+@Service
+public class TaskExportService {
+
+    /**
+     * Número de tarefas escritas entre cada flush para o cliente
+     */
+    private static final int FLUSH_EVERY = 500;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final String CSV_HEADER =
+            "id,title,description,taskDate,completed,priority,category,createdAt,updatedAt,completedAt";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Formatos de exportação suportados
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Converte o parâmetro da requisição no formato correspondente
+         * @param value Nome do formato (ndjson ou csv)
+         * @return Format
+         * @throws IllegalArgumentException se o formato não for suportado
+         */
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportação inválido: " + value);
+            }
+        }
+    }
+
+    /**
+     * Escreve todas as tarefas do usuário na saída. A conexão com o banco fica
+     * aberta apenas durante a escrita (transação somente-leitura deste método).
+     * @param userId ID do usuário
+     * @param format Formato de saída
+     * @param gzip Se a saída deve ser comprimida com gzip
+     * @param out Stream da resposta (não é fechado)
+     * @return Número de tarefas exportadas
+     * @throws IOException se a escrita falhar (ex.: cliente desconectou)
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, Format format, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzipOut != null ? gzipOut : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long count;
+        try (Stream<TaskDTO> tasks = taskRepository.streamDtosByUserId(userId)) {
+            count = format == Format.CSV
+                    ? writeCsv(tasks.iterator(), writer)
+                    : writeNdjson(tasks.iterator(), writer);
+        }
+
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        return count;
+    }
+
+    /**
+     * Escreve um objeto JSON por linha
+     */
+    private long writeNdjson(Iterator<TaskDTO> tasks, Writer writer) throws IOException {
+        SequenceWriter json = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+
+        long count = 0;
+        while (tasks.hasNext()) {
+            json.write(tasks.next());
+            if (++count % FLUSH_EVERY == 0) {
+                json.flush();
+            }
+        }
+        json.flush();
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    /**
+     * Escreve o cabeçalho e uma linha CSV por tarefa (RFC 4180)
+     */
+    private long writeCsv(Iterator<TaskDTO> tasks, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        long count = 0;
+        while (tasks.hasNext()) {
+            TaskDTO task = tasks.next();
+            writer.write(String.valueOf(task.getId()));
+            writeCsvField(writer, task.getTitle());
+            writeCsvField(writer, task.getDescription());
+            writeCsvField(writer, task.getTaskDate());
+            writeCsvField(writer, task.getCompleted());
+            writeCsvField(writer, task.getPriority());
+            writeCsvField(writer, task.getCategory());
+            writeCsvField(writer, task.getCreatedAt());
+            writeCsvField(writer, task.getUpdatedAt());
+            writeCsvField(writer, task.getCompletedAt());
+            writer.write("\r\n");
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
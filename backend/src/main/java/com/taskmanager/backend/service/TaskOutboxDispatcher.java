@@ -0,0 +1,268 @@
+package com.taskmanager.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+import com.taskmanager.backend.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega os eventos do outbox aos TaskDomainEventListener em segundo plano.
+ * A cada intervalo reserva os eventos pendentes em lotes (SELECT com UPDLOCK,
+ * READPAST no SQL Server e FOR UPDATE SKIP LOCKED no H2, de modo que várias
+ * instâncias podem rodar o dispatcher sem entregar o mesmo evento ao mesmo tempo),
+ * entrega os eventos de cada usuário em ordem de versão das tarefas e remove os
+ * entregues na mesma transação (entrega ao menos uma vez).
+ * Se um listener falhar, apenas o primeiro evento daquele usuário é adiado com
+ * backoff exponencial e os seguintes do mesmo usuário aguardam; os demais usuários
+ * não são afetados. Após o número máximo de tentativas o evento deixa de ser
+ * entregue e fica no outbox para análise, retendo os eventos seguintes do usuário.
+ */
+@Component
+public class TaskOutboxDispatcher implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TaskOutboxDispatcher.class);
+    
+    /**
+     * Máximo de lotes entregues por ciclo (o restante fica para o próximo)
+     */
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    
+    private final TaskOutboxRepository outboxRepository;
+    private final List<TaskDomainEventListener> listeners;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseDriver databaseDriver;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final ScheduledExecutorService executor;
+    
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final AtomicLong undeliverable = new AtomicLong();
+    private final Counter dispatchedCounter;
+    private final Counter failureCounter;
+    private final Timer lagTimer;
+    
+    public TaskOutboxDispatcher(TaskOutboxRepository outboxRepository,
+                                List<TaskDomainEventListener> listeners,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${spring.datasource.url:}") String datasourceUrl,
+                                @Value("${tasks.outbox.dispatcher.enabled:true}") boolean enabled,
+                                @Value("${tasks.outbox.batch-size:100}") int batchSize,
+                                @Value("${tasks.outbox.max-attempts:10}") int maxAttempts,
+                                @Value("${tasks.outbox.backoff-initial-ms:1000}") long backoffInitialMillis,
+                                @Value("${tasks.outbox.backoff-max-ms:300000}") long backoffMaxMillis,
+                                @Value("${tasks.outbox.poll-interval-ms:500}") long pollIntervalMillis,
+                                MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.listeners = listeners;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databaseDriver = DatabaseDriver.fromJdbcUrl(datasourceUrl);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMillis = backoffInitialMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        
+        this.dispatchedCounter = Counter.builder("tasks.outbox.dispatched")
+                .description("Eventos do outbox entregues aos listeners")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("tasks.outbox.failures")
+                .description("Entregas do outbox que falharam (cada uma adia os eventos de um usuário)")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("tasks.outbox.lag")
+                .description("Tempo entre a gravação do evento e a entrega aos listeners")
+                .register(meterRegistry);
+        Gauge.builder("tasks.outbox.oldest.age", oldestPendingAgeMillis, age -> age.get() / 1000.0)
+                .description("Idade em segundos do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("tasks.outbox.undeliverable", undeliverable, AtomicLong::get)
+                .description("Eventos que esgotaram as tentativas de entrega")
+                .register(meterRegistry);
+        
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled && databaseDriver != DatabaseDriver.SQLSERVER && databaseDriver != DatabaseDriver.H2) {
+            // Sem reserva de linhas não há como garantir entrega única e em ordem entre instâncias
+            logger.warn("Dispatcher do outbox desabilitado: banco {} não suportado", databaseDriver);
+        } else if (enabled) {
+            executor.scheduleWithFixedDelay(this::run, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    
+    private void run() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (!dispatchBatch()) {
+                    break;
+                }
+            }
+            LocalDateTime oldest = transactionTemplate.execute(
+                    status -> outboxRepository.findOldestPendingCreatedAt(maxAttempts));
+            oldestPendingAgeMillis.set(oldest == null
+                    ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        } catch (RuntimeException e) {
+            // Falha de banco: tenta novamente no próximo ciclo
+            logger.warn("Erro ao ler o outbox de eventos de tarefas: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Reserva e entrega o próximo lote de eventos pendentes. As linhas ficam
+     * bloqueadas para as demais instâncias até o fim da transação, que remove os
+     * eventos entregues e adia os que falharam.
+     * @return true se o lote estava cheio e houve progresso (pode haver mais eventos)
+     */
+    private boolean dispatchBatch() {
+        Boolean more = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskOutboxEvent> claimed = claimPending(now);
+            if (claimed.isEmpty()) {
+                return false;
+            }
+            
+            // Reservados em ordem de usuário, versão e ID
+            Map<Long, List<TaskOutboxEvent>> byUser = new LinkedHashMap<>();
+            List<Long> ids = new ArrayList<>(claimed.size());
+            for (TaskOutboxEvent row : claimed) {
+                byUser.computeIfAbsent(row.getUserId(), userId -> new ArrayList<>()).add(row);
+                ids.add(row.getId());
+            }
+            // Evento anterior fora do lote (ex.: em entrega por outra instância): os seguintes aguardam
+            for (TaskOutboxEvent first : outboxRepository.findFirstOutsideBatch(byUser.keySet(), ids)) {
+                byUser.get(first.getUserId()).removeIf(row -> follows(row, first));
+            }
+            
+            List<TaskOutboxEvent> delivered = new ArrayList<>();
+            int failed = 0;
+            for (List<TaskOutboxEvent> rows : byUser.values()) {
+                if (rows.isEmpty()) {
+                    continue;
+                }
+                if (deliver(rows)) {
+                    delivered.addAll(rows);
+                } else {
+                    recordFailure(rows.get(0), now);
+                    failed++;
+                }
+            }
+            
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteByIdIn(delivered.stream().map(TaskOutboxEvent::getId).toList());
+                LocalDateTime deliveredAt = LocalDateTime.now();
+                for (TaskOutboxEvent row : delivered) {
+                    lagTimer.record(Duration.between(row.getCreatedAt(), deliveredAt));
+                }
+                dispatchedCounter.increment(delivered.size());
+            }
+            return claimed.size() == batchSize && delivered.size() + failed > 0;
+        });
+        return Boolean.TRUE.equals(more);
+    }
+    
+    private List<TaskOutboxEvent> claimPending(LocalDateTime now) {
+        return databaseDriver == DatabaseDriver.SQLSERVER
+                ? outboxRepository.claimPendingSqlServer(maxAttempts, now, batchSize)
+                : outboxRepository.claimPendingH2(maxAttempts, now, batchSize);
+    }
+    
+    /**
+     * Verifica se o evento vem depois de outro do mesmo usuário (versão e, na mesma versão, ID)
+     */
+    private static boolean follows(TaskOutboxEvent row, TaskOutboxEvent other) {
+        int byVersion = row.getTasksVersion().compareTo(other.getTasksVersion());
+        return byVersion > 0 || (byVersion == 0 && row.getId() > other.getId());
+    }
+    
+    /**
+     * Entrega os eventos de um usuário a todos os listeners
+     * @param rows Eventos do usuário em ordem de versão
+     * @return false se algum listener falhar
+     */
+    private boolean deliver(List<TaskOutboxEvent> rows) {
+        List<TaskDomainEvent> events = new ArrayList<>(rows.size());
+        for (TaskOutboxEvent row : rows) {
+            events.add(toDomainEvent(row));
+        }
+        try {
+            for (TaskDomainEventListener listener : listeners) {
+                listener.onTaskEvents(events);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            logger.error("Falha ao entregar {} eventos de tarefas do usuário {} (a partir do evento {})",
+                    rows.size(), rows.get(0).getUserId(), rows.get(0).getId(), e);
+            return false;
+        }
+    }
+    
+    /**
+     * Adia o primeiro evento do usuário com backoff exponencial; os eventos
+     * seguintes do usuário não são reservados enquanto ele estiver pendente
+     * @param head Primeiro evento do usuário no lote
+     * @param now Instante da tentativa
+     */
+    private void recordFailure(TaskOutboxEvent head, LocalDateTime now) {
+        int attempts = head.getAttempts() + 1;
+        long delayMillis = Math.min(backoffMaxMillis, backoffInitialMillis << Math.min(attempts - 1, 30));
+        outboxRepository.recordFailure(head.getId(), now.plus(Duration.ofMillis(delayMillis)));
+        if (attempts >= maxAttempts) {
+            logger.error("Evento {} do usuário {} esgotou as {} tentativas de entrega; os eventos seguintes do usuário ficam retidos",
+                    head.getId(), head.getUserId(), maxAttempts);
+            undeliverable.set(outboxRepository.countByAttemptsGreaterThanEqual(maxAttempts));
+        } else {
+            logger.warn("Evento {} do usuário {}: tentativa {} falhou; nova tentativa em {} ms",
+                    head.getId(), head.getUserId(), attempts, delayMillis);
+        }
+    }
+    
+    private TaskDomainEvent toDomainEvent(TaskOutboxEvent row) {
+        TaskDTO task = null;
+        if (row.getPayload() != null) {
+            try {
+                task = objectMapper.readValue(row.getPayload(), TaskDTO.class);
+            } catch (IOException e) {
+                logger.warn("Payload inválido no evento {} do outbox: {}", row.getId(), e.getMessage());
+            }
+        }
+        return new TaskDomainEvent(row.getId(), row.getUserId(), row.getTasksVersion(), row.getTaskId(),
+                row.getType(), task, row.getCreatedAt());
+    }
+}
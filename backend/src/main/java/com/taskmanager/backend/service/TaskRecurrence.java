@@ -0,0 +1,156 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.entity.TaskSeries;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cálculo das ocorrências de uma série recorrente. A n-ésima ocorrência é sempre
+ * calculada a partir da data inicial (start + n * intervalo), de modo que a expansão
+ * de um período começa direto na primeira ocorrência dele, sem percorrer a série
+ * desde o início, e séries mensais iniciadas no dia 31 não "derivam" para o dia 28.
+ */
+public final class TaskRecurrence {
+    
+    private TaskRecurrence() {
+    }
+    
+    /**
+     * Valida a regra de uma série e calcula a data da última ocorrência
+     * @param series Série (frequency, interval, startDate, untilDate e count preenchidos)
+     * @return Data da última ocorrência, ou null se a série não tiver fim
+     * @throws RuntimeException se a regra for inválida
+     */
+    public static LocalDate lastOccurrence(TaskSeries series) {
+        if (series.getFrequency() == null) {
+            throw new RuntimeException("Frequência é obrigatória");
+        }
+        if (series.getStartDate() == null) {
+            throw new RuntimeException("Data inicial é obrigatória");
+        }
+        if (series.getInterval() < 1) {
+            throw new RuntimeException("Intervalo deve ser maior que zero");
+        }
+        if (series.getCount() != null && series.getCount() < 1) {
+            throw new RuntimeException("Número de ocorrências deve ser maior que zero");
+        }
+        if (series.getUntilDate() != null && series.getUntilDate().isBefore(series.getStartDate())) {
+            throw new RuntimeException("Data final deve ser posterior à data inicial");
+        }
+        
+        LocalDate last = null;
+        if (series.getCount() != null) {
+            last = nth(series, series.getCount() - 1);
+        }
+        if (series.getUntilDate() != null) {
+            LocalDate untilLast = nth(series, lastIndexOnOrBefore(series, series.getUntilDate()));
+            last = last == null || untilLast.isBefore(last) ? untilLast : last;
+        }
+        return last;
+    }
+    
+    /**
+     * Lista as ocorrências de uma série em um período
+     * @param series Série com endDate já calculada
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @return Datas das ocorrências em ordem crescente
+     */
+    public static List<LocalDate> occurrences(TaskSeries series, LocalDate from, LocalDate to) {
+        return occurrences(series, from, to, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Lista as primeiras ocorrências de uma série em um período
+     * @param series Série com endDate já calculada
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @param limit Número máximo de ocorrências
+     * @return Datas das ocorrências em ordem crescente
+     */
+    public static List<LocalDate> occurrences(TaskSeries series, LocalDate from, LocalDate to, int limit) {
+        LocalDate start = from.isBefore(series.getStartDate()) ? series.getStartDate() : from;
+        LocalDate end = series.getEndDate() != null && series.getEndDate().isBefore(to) ? series.getEndDate() : to;
+        List<LocalDate> dates = new ArrayList<>();
+        if (start.isAfter(end)) {
+            return dates;
+        }
+        for (long n = firstIndexOnOrAfter(series, start); dates.size() < limit; n++) {
+            LocalDate date = nth(series, n);
+            if (date.isAfter(end)) {
+                break;
+            }
+            dates.add(date);
+        }
+        return dates;
+    }
+    
+    /**
+     * Verifica se uma data é uma ocorrência da série
+     * @param series Série com endDate já calculada
+     * @param date Data
+     * @return true se a série tem uma ocorrência na data
+     */
+    public static boolean isOccurrence(TaskSeries series, LocalDate date) {
+        return !occurrences(series, date, date).isEmpty();
+    }
+    
+    /**
+     * Data da n-ésima ocorrência (0 = data inicial), sem considerar o fim da série
+     * @param series Série
+     * @param n Índice da ocorrência
+     * @return Data da ocorrência
+     */
+    private static LocalDate nth(TaskSeries series, long n) {
+        long steps = n * series.getInterval();
+        return switch (series.getFrequency()) {
+            case DAILY -> series.getStartDate().plusDays(steps);
+            case WEEKLY -> series.getStartDate().plusWeeks(steps);
+            case MONTHLY -> series.getStartDate().plusMonths(steps);
+        };
+    }
+    
+    /**
+     * Índice da primeira ocorrência na data informada ou depois dela
+     * @param series Série
+     * @param date Data (não anterior à data inicial)
+     * @return Índice da ocorrência
+     */
+    private static long firstIndexOnOrAfter(TaskSeries series, LocalDate date) {
+        long n = estimateIndex(series, date);
+        // plusMonths limita o dia ao fim do mês: a estimativa pode ficar uma ocorrência antes
+        while (nth(series, n).isBefore(date)) {
+            n++;
+        }
+        return n;
+    }
+    
+    /**
+     * Índice da última ocorrência na data informada ou antes dela
+     * @param series Série
+     * @param date Data (não anterior à data inicial)
+     * @return Índice da ocorrência
+     */
+    private static long lastIndexOnOrBefore(TaskSeries series, LocalDate date) {
+        long n = firstIndexOnOrAfter(series, date);
+        return nth(series, n).isAfter(date) ? n - 1 : n;
+    }
+    
+    /**
+     * Estimativa (nunca acima do valor real) do índice da ocorrência na data informada
+     * @param series Série
+     * @param date Data (não anterior à data inicial)
+     * @return Índice estimado
+     */
+    private static long estimateIndex(TaskSeries series, LocalDate date) {
+        long units = switch (series.getFrequency()) {
+            case DAILY -> ChronoUnit.DAYS.between(series.getStartDate(), date);
+            case WEEKLY -> ChronoUnit.WEEKS.between(series.getStartDate(), date);
+            case MONTHLY -> ChronoUnit.MONTHS.between(series.getStartDate(), date);
+        };
+        return Math.max(0, units / series.getInterval());
+    }
+}
@@ -0,0 +1,449 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.TaskChangeEvent;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.TaskSeriesDTO;
+import com.taskmanager.backend.entity.Task;
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+import com.taskmanager.backend.entity.TaskSeries;
+import com.taskmanager.backend.entity.TaskSeriesSkip;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskSeriesRepository;
+import com.taskmanager.backend.repository.TaskSeriesSkipRepository;
+import com.taskmanager.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Tarefas recorrentes. A regra de cada série é gravada uma única vez e as ocorrências
+ * são expandidas sob demanda nas consultas por período (data, semana e mês); somente
+ * ocorrências alteradas ou concluídas viram linhas em tasks e as excluídas são
+ * registradas em task_series_skips.
+ */
+@Service
+@Transactional
+public class TaskSeriesService {
+    
+    private static final Comparator<TaskDTO> OCCURRENCE_ORDER = Comparator.comparing(TaskDTO::getTaskDate)
+            .thenComparing(TaskDTO::getSeriesId);
+    
+    @Autowired
+    private TaskSeriesRepository seriesRepository;
+    
+    @Autowired
+    private TaskSeriesSkipRepository skipRepository;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TaskViewCache viewCache;
+    
+    @Autowired
+    private TaskChangeNotifier changeNotifier;
+    
+    @Autowired
+    private TaskEventOutbox eventOutbox;
+    
+    /**
+     * Busca as séries do usuário
+     * @param userId ID do usuário
+     * @return Lista de TaskSeriesDTO ordenada por data inicial
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSeriesDTO> findAllByUser(Long userId) {
+        return seriesRepository.findAllByUserId(userId).stream().map(TaskSeriesDTO::new).toList();
+    }
+    
+    /**
+     * Busca uma série do usuário por ID
+     * @param id ID da série
+     * @param userId ID do usuário (para verificar propriedade)
+     * @return Optional contendo TaskSeriesDTO se encontrada
+     */
+    @Transactional(readOnly = true)
+    public Optional<TaskSeriesDTO> findById(Long id, Long userId) {
+        return seriesRepository.findByIdAndUserId(id, userId).map(TaskSeriesDTO::new);
+    }
+    
+    /**
+     * Expande as ocorrências das séries do usuário em um período, sem as ocorrências
+     * já materializadas (inclusive as movidas para outra data) e as excluídas.
+     * Usa no máximo três consultas indexadas, independentemente da duração das séries.
+     * @param userId ID do usuário
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @return Ocorrências virtuais (sem id e sem version) em ordem de data e série
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> expandOccurrences(Long userId, LocalDate from, LocalDate to) {
+        List<TaskSeries> seriesList = seriesRepository.findOverlapping(userId, from, to);
+        if (seriesList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<TaskDTO> occurrences = expand(seriesList, from, to);
+        occurrences.sort(OCCURRENCE_ORDER);
+        return occurrences;
+    }
+    
+    /**
+     * Expande as próximas ocorrências virtuais das séries do usuário a partir de uma
+     * posição, parando ao atingir o limite: as listagens paginadas usam apenas o
+     * trecho da página, sem expandir o período inteiro (que pode não ter fim).
+     * @param userId ID do usuário
+     * @param from Data inicial
+     * @param afterSeriesId Na data inicial, considera apenas as séries com ID maior (null para todas)
+     * @param to Data final
+     * @param limit Número máximo de ocorrências
+     * @return Ocorrências virtuais (sem id e sem version) em ordem de data e série
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> expandOccurrences(Long userId, LocalDate from, Long afterSeriesId, LocalDate to, int limit) {
+        List<TaskSeries> seriesList = seriesRepository.findOverlapping(userId, from, to);
+        List<TaskDTO> occurrences = new ArrayList<>();
+        LocalDate start = from;
+        while (!seriesList.isEmpty() && occurrences.size() < limit && !start.isAfter(to)) {
+            int remaining = limit - occurrences.size();
+            
+            // As primeiras ocorrências de cada série definem até onde expandir nesta rodada
+            List<LocalDate> candidates = new ArrayList<>();
+            for (TaskSeries series : seriesList) {
+                candidates.addAll(TaskRecurrence.occurrences(series, start, to, remaining));
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            candidates.sort(null);
+            LocalDate end = candidates.get(Math.min(remaining, candidates.size()) - 1);
+            
+            for (TaskDTO occurrence : expand(seriesList, start, end)) {
+                if (afterSeriesId == null || occurrence.getTaskDate().isAfter(from)
+                        || occurrence.getSeriesId() > afterSeriesId) {
+                    occurrences.add(occurrence);
+                }
+            }
+            // Ocorrências materializadas, excluídas ou antes do cursor não contam: continua após a data final
+            start = end.plusDays(1);
+        }
+        occurrences.sort(OCCURRENCE_ORDER);
+        return occurrences.size() > limit ? new ArrayList<>(occurrences.subList(0, limit)) : occurrences;
+    }
+    
+    /**
+     * Expande as ocorrências das séries em um período, sem as já materializadas e as excluídas
+     * @param seriesList Séries que se sobrepõem ao período
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @return Ocorrências virtuais agrupadas por série
+     */
+    private List<TaskDTO> expand(List<TaskSeries> seriesList, LocalDate from, LocalDate to) {
+        List<Long> seriesIds = seriesList.stream().map(TaskSeries::getId).toList();
+        Set<TaskSeriesSkip.Key> excluded = new HashSet<>();
+        for (Object[] row : taskRepository.findSeriesOccurrences(seriesIds, from, to)) {
+            excluded.add(new TaskSeriesSkip.Key((Long) row[0], (LocalDate) row[1]));
+        }
+        for (TaskSeriesSkip skip : skipRepository.findBySeriesIdsAndDateBetween(seriesIds, from, to)) {
+            excluded.add(new TaskSeriesSkip.Key(skip.getSeriesId(), skip.getOccurrenceDate()));
+        }
+        
+        List<TaskDTO> occurrences = new ArrayList<>();
+        for (TaskSeries series : seriesList) {
+            for (LocalDate date : TaskRecurrence.occurrences(series, from, to)) {
+                if (!excluded.contains(new TaskSeriesSkip.Key(series.getId(), date))) {
+                    occurrences.add(toOccurrenceDTO(series, date));
+                }
+            }
+        }
+        return occurrences;
+    }
+    
+    /**
+     * Cria uma série recorrente
+     * @param seriesDTO Dados da série
+     * @param userId ID do usuário
+     * @return TaskSeriesDTO da série criada
+     * @throws RuntimeException se a regra de recorrência for inválida
+     */
+    public TaskSeriesDTO createSeries(TaskSeriesDTO seriesDTO, Long userId) {
+        TaskSeries series = new TaskSeries();
+        applyRule(series, seriesDTO);
+        
+        long changeVersion = nextTasksVersion(userId);
+        series.setUser(userRepository.getReferenceById(userId));
+        TaskSeries saved = seriesRepository.saveAndFlush(series);
+        
+        viewCache.invalidateRange(userId, saved.getStartDate(), saved.getEndDate());
+        publishSeriesChange(userId, changeVersion);
+        return new TaskSeriesDTO(saved);
+    }
+    
+    /**
+     * Altera a regra ou os dados de uma série. As ocorrências já materializadas e
+     * as excluídas são mantidas.
+     * @param id ID da série
+     * @param seriesDTO Dados atualizados da série
+     * @param userId ID do usuário (para verificar propriedade)
+     * @return TaskSeriesDTO da série atualizada
+     * @throws RuntimeException se a série não existir ou a regra for inválida
+     */
+    public TaskSeriesDTO updateSeries(Long id, TaskSeriesDTO seriesDTO, Long userId) {
+        long changeVersion = nextTasksVersion(userId);
+        TaskSeries series = findOwnedSeries(id, userId);
+        LocalDate previousStart = series.getStartDate();
+        LocalDate previousEnd = series.getEndDate();
+        
+        applyRule(series, seriesDTO);
+        TaskSeries saved = seriesRepository.saveAndFlush(series);
+        
+        viewCache.invalidateRange(userId, previousStart, previousEnd);
+        viewCache.invalidateRange(userId, saved.getStartDate(), saved.getEndDate());
+        publishSeriesChange(userId, changeVersion);
+        return new TaskSeriesDTO(saved);
+    }
+    
+    /**
+     * Remove uma série: as ocorrências ainda não materializadas deixam de existir e
+     * as materializadas passam a ser tarefas comuns
+     * @param id ID da série
+     * @param userId ID do usuário (para verificar propriedade)
+     * @throws RuntimeException se a série não existir
+     */
+    public void deleteSeries(Long id, Long userId) {
+        long changeVersion = nextTasksVersion(userId);
+        TaskSeries series = findOwnedSeries(id, userId);
+        
+        taskRepository.detachFromSeries(id, LocalDateTime.now(), changeVersion);
+        skipRepository.deleteBySeriesId(id);
+        seriesRepository.delete(series);
+        
+        viewCache.invalidateRange(userId, series.getStartDate(), series.getEndDate());
+        publishSeriesChange(userId, changeVersion);
+    }
+    
+    /**
+     * Altera uma ocorrência ainda não materializada, gravando-a como tarefa
+     * @param seriesId ID da série
+     * @param occurrenceDate Data original da ocorrência
+     * @param taskDTO Dados da ocorrência (a data pode ser alterada)
+     * @param userId ID do usuário (para verificar propriedade)
+     * @return TaskDTO da tarefa criada
+     * @throws RuntimeException se a data não for uma ocorrência disponível da série
+     */
+    public TaskDTO updateOccurrence(Long seriesId, LocalDate occurrenceDate, TaskDTO taskDTO, Long userId) {
+        long changeVersion = nextTasksVersion(userId);
+        TaskSeries series = findAvailableOccurrence(seriesId, occurrenceDate, userId);
+        
+        Task task = newOccurrenceTask(series, occurrenceDate);
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setTaskDate(taskDTO.getTaskDate() != null ? taskDTO.getTaskDate() : occurrenceDate);
+        task.setCompleted(taskDTO.getCompleted() != null ? taskDTO.getCompleted() : false);
+        task.setPriority(taskDTO.getPriority() != null ? taskDTO.getPriority() : series.getPriority());
+        task.setCategory(taskDTO.getCategory() != null ? taskDTO.getCategory() : series.getCategory());
+        return materialize(task, userId, changeVersion);
+    }
+    
+    /**
+     * Marca uma ocorrência ainda não materializada como concluída ou pendente,
+     * gravando-a como tarefa
+     * @param seriesId ID da série
+     * @param occurrenceDate Data da ocorrência
+     * @param completed Status de conclusão
+     * @param userId ID do usuário (para verificar propriedade)
+     * @return TaskDTO da tarefa criada
+     * @throws RuntimeException se a data não for uma ocorrência disponível da série
+     */
+    public TaskDTO toggleOccurrence(Long seriesId, LocalDate occurrenceDate, Boolean completed, Long userId) {
+        if (completed == null) {
+            throw new RuntimeException("Status de conclusão é obrigatório");
+        }
+        
+        long changeVersion = nextTasksVersion(userId);
+        TaskSeries series = findAvailableOccurrence(seriesId, occurrenceDate, userId);
+        
+        Task task = newOccurrenceTask(series, occurrenceDate);
+        task.setTitle(series.getTitle());
+        task.setDescription(series.getDescription());
+        task.setTaskDate(occurrenceDate);
+        task.setCompleted(completed);
+        task.setPriority(series.getPriority());
+        task.setCategory(series.getCategory());
+        return materialize(task, userId, changeVersion);
+    }
+    
+    /**
+     * Exclui uma ocorrência ainda não materializada (ocorrências materializadas são
+     * excluídas como tarefas comuns, em DELETE /api/tasks/{id})
+     * @param seriesId ID da série
+     * @param occurrenceDate Data da ocorrência
+     * @param userId ID do usuário (para verificar propriedade)
+     * @throws RuntimeException se a data não for uma ocorrência disponível da série
+     */
+    public void skipOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        long changeVersion = nextTasksVersion(userId);
+        findAvailableOccurrence(seriesId, occurrenceDate, userId);
+        
+        skipRepository.save(new TaskSeriesSkip(seriesId, occurrenceDate));
+        viewCache.invalidate(userId, occurrenceDate);
+        publishSeriesChange(userId, changeVersion);
+    }
+    
+    /**
+     * Valida a regra recebida e a aplica à série, recalculando a última ocorrência
+     * @param series Série a alterar
+     * @param seriesDTO Dados recebidos
+     * @throws RuntimeException se a regra for inválida
+     */
+    private void applyRule(TaskSeries series, TaskSeriesDTO seriesDTO) {
+        series.setTitle(seriesDTO.getTitle());
+        series.setDescription(seriesDTO.getDescription());
+        series.setPriority(seriesDTO.getPriority() != null ? seriesDTO.getPriority() : Task.Priority.MEDIUM);
+        series.setCategory(seriesDTO.getCategory() != null ? seriesDTO.getCategory() : Task.Category.PERSONAL);
+        series.setFrequency(seriesDTO.getFrequency());
+        series.setInterval(seriesDTO.getInterval() != null ? seriesDTO.getInterval() : 1);
+        series.setStartDate(seriesDTO.getStartDate());
+        series.setUntilDate(seriesDTO.getUntilDate());
+        series.setCount(seriesDTO.getCount());
+        series.setEndDate(TaskRecurrence.lastOccurrence(series));
+    }
+    
+    /**
+     * Busca uma série do usuário e verifica se a data é uma ocorrência ainda não
+     * materializada nem excluída
+     * @param seriesId ID da série
+     * @param occurrenceDate Data da ocorrência
+     * @param userId ID do usuário
+     * @return Série da ocorrência
+     * @throws RuntimeException se a série não existir ou a ocorrência não estiver disponível
+     */
+    private TaskSeries findAvailableOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        TaskSeries series = findOwnedSeries(seriesId, userId);
+        if (occurrenceDate == null || !TaskRecurrence.isOccurrence(series, occurrenceDate)) {
+            throw new RuntimeException("Data não corresponde a uma ocorrência da série");
+        }
+        if (taskRepository.existsBySeriesIdAndOccurrenceDate(seriesId, occurrenceDate)) {
+            throw new RuntimeException("Ocorrência já registrada como tarefa");
+        }
+        if (skipRepository.existsById(new TaskSeriesSkip.Key(seriesId, occurrenceDate))) {
+            throw new RuntimeException("Ocorrência excluída");
+        }
+        return series;
+    }
+    
+    /**
+     * Busca uma série do usuário; a propriedade é verificada na própria consulta
+     * @param id ID da série
+     * @param userId ID do usuário
+     * @return TaskSeries
+     * @throws RuntimeException se a série não existir ou não pertencer ao usuário
+     */
+    private TaskSeries findOwnedSeries(Long id, Long userId) {
+        return seriesRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Série não encontrada"));
+    }
+    
+    /**
+     * Cria a tarefa de uma ocorrência vinculada à série
+     * @param series Série
+     * @param occurrenceDate Data original da ocorrência
+     * @return Task ainda não persistida
+     */
+    private Task newOccurrenceTask(TaskSeries series, LocalDate occurrenceDate) {
+        Task task = new Task();
+        task.setUser(series.getUser());
+        task.setSeriesId(series.getId());
+        task.setOccurrenceDate(occurrenceDate);
+        return task;
+    }
+    
+    /**
+     * Grava a tarefa de uma ocorrência e notifica a alteração
+     * @param task Tarefa da ocorrência
+     * @param userId ID do usuário
+     * @param changeVersion Versão das tarefas do usuário nesta alteração
+     * @return TaskDTO da tarefa criada
+     * @throws RuntimeException se a ocorrência tiver sido materializada concorrentemente
+     */
+    private TaskDTO materialize(Task task, Long userId, long changeVersion) {
+        task.setChangeVersion(changeVersion);
+        Task saved;
+        try {
+            saved = taskRepository.saveAndFlush(task);
+        } catch (DataIntegrityViolationException e) {
+            // ux_tasks_series_occurrence
+            throw new RuntimeException("Ocorrência já registrada como tarefa");
+        }
+        viewCache.invalidate(userId, saved.getOccurrenceDate(), saved.getTaskDate());
+        
+        TaskDTO created = new TaskDTO(saved.getId(), saved.getTitle(), saved.getDescription(), saved.getTaskDate(),
+                saved.getCompleted(), saved.getPriority(), saved.getCategory(), saved.getCreatedAt(),
+                saved.getUpdatedAt(), saved.getCompletedAt(), saved.getUser().getId(), saved.getUser().getName(),
+                saved.getVersion(), saved.getSeriesId(), saved.getOccurrenceDate());
+        eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.CREATED, created.getId(), created);
+        // A ocorrência virtual é substituída pela tarefa: as conexões abertas recarregam as visões
+        publishResync(userId, changeVersion);
+        return created;
+    }
+    
+    /**
+     * Monta a ocorrência virtual de uma série em uma data
+     * @param series Série (com o usuário carregado)
+     * @param date Data da ocorrência
+     * @return TaskDTO sem id e sem version
+     */
+    private TaskDTO toOccurrenceDTO(TaskSeries series, LocalDate date) {
+        return new TaskDTO(null, series.getTitle(), series.getDescription(), date, false,
+                series.getPriority(), series.getCategory(), series.getCreatedAt(), series.getUpdatedAt(), null,
+                series.getUser().getId(), series.getUser().getName(), null, series.getId(), date);
+    }
+    
+    /**
+     * Inicia uma alteração nas tarefas do usuário (mesma ordem de bloqueio de
+     * TaskService: a linha do usuário antes de qualquer escrita em tasks ou séries)
+     * @param userId ID do usuário
+     * @return Nova versão das tarefas do usuário
+     * @throws RuntimeException se o usuário não existir
+     */
+    private long nextTasksVersion(Long userId) {
+        userRepository.incrementTasksVersion(userId);
+        long version = userRepository.findTasksVersionById(userId)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        viewCache.advance(userId, version);
+        return version;
+    }
+    
+    /**
+     * Notifica uma alteração em uma série, que afeta um número indeterminado de ocorrências
+     * @param userId ID do usuário
+     * @param version Versão das tarefas após a alteração
+     */
+    private void publishSeriesChange(Long userId, long version) {
+        eventOutbox.append(userId, version, TaskOutboxEvent.Type.BULK, null, null);
+        publishResync(userId, version);
+    }
+    
+    /**
+     * Pede às conexões abertas do usuário que recarreguem as tarefas
+     * @param userId ID do usuário
+     * @param version Versão das tarefas após a alteração
+     */
+    private void publishResync(Long userId, long version) {
+        if (changeNotifier.hasSubscribers(userId)) {
+            changeNotifier.publish(userId, TaskChangeEvent.resync(version));
+        }
+    }
+}
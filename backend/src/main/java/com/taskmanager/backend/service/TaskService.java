@@ -1,19 +1,43 @@
 package com.taskmanager.backend.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.dto.TaskChangeEvent;
+import com.taskmanager.backend.dto.TaskChanges;
 import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.TaskPage;
+import com.taskmanager.backend.dto.TaskQuery;
+import com.taskmanager.backend.dto.TaskStats;
 import com.taskmanager.backend.entity.Task;
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+import com.taskmanager.backend.entity.TaskSeriesSkip;
+import com.taskmanager.backend.entity.TaskTombstone;
 import com.taskmanager.backend.entity.User;
 import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskSeriesSkipRepository;
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
 import com.taskmanager.backend.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -25,17 +49,62 @@ public class TaskService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private TaskViewCache viewCache;
+    
+    @Autowired
+    private TaskChangeNotifier changeNotifier;
+    
+    @Autowired
+    private TaskEventOutbox eventOutbox;
+    
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private TaskSeriesService seriesService;
+    
+    @Autowired
+    private TaskSeriesSkipRepository skipRepository;
+    
+    // Ocorrências virtuais (sem id) ficam após as tarefas gravadas da mesma data
+    private static final Comparator<TaskDTO> VIEW_ORDER = Comparator.comparing(TaskDTO::getTaskDate)
+            .thenComparing(TaskDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskDTO::getSeriesId, Comparator.nullsLast(Comparator.naturalOrder()));
+    
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${tasks.page.max-size:200}")
+    private int maxPageSize;
+    
+    @Value("${tasks.series.list-horizon-days:365}")
+    private int listHorizonDays;
+    
+    @Value("${tasks.batch.max-size:1000}")
+    private int maxBatchSize;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
-     * Busca todas as tarefas de um usuário
+     * Busca uma página das tarefas de um usuário, incluindo as ocorrências das
+     * séries recorrentes até tasks.series.list-horizon-days após hoje
      * @param userId ID do usuário
-     * @return Lista de TaskDTO
+     * @param cursor Cursor da página anterior (null para a primeira página)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskPage com as tarefas e o cursor da próxima página
      */
     @Transactional(readOnly = true)
-    public List<TaskDTO> findAllByUser(Long userId) {
-        User user = getUserById(userId);
-        return taskRepository.findByUserOrderByTaskDateAsc(user).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public TaskPage findAllByUser(Long userId, String cursor, Integer size) {
+        // Séries sem fim gerariam páginas sem fim: as ocorrências param no horizonte
+        LocalDate horizon = LocalDate.now().plusDays(listHorizonDays);
+        return viewCache.get(userId, "all:" + horizon + ":" + cursor + ":" + resolvePageSize(size), null, null,
+                () -> fetchPageWithOccurrences(cursor, size, userId, TaskCursor.FIRST.getTaskDate(), horizon,
+                        (afterDate, afterId, pageable) -> taskRepository.findPageByUser(userId, afterDate, afterId, pageable)));
     }
     
     /**
@@ -46,128 +115,218 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public Optional<TaskDTO> findById(Long id, Long userId) {
-        return taskRepository.findById(id)
-                .filter(task -> task.getUser().getId().equals(userId))
-                .map(this::convertToDTO);
+        return taskRepository.findDtoByIdAndUserId(id, userId);
     }
     
     /**
-     * Busca tarefas de um usuário por data específica
+     * Busca tarefas de um usuário por data específica, incluindo as ocorrências
+     * das séries recorrentes
      * @param userId ID do usuário
      * @param date Data da tarefa
      * @return Lista de TaskDTO
      */
     @Transactional(readOnly = true)
     public List<TaskDTO> findByUserAndDate(Long userId, LocalDate date) {
-        User user = getUserById(userId);
-        return taskRepository.findByUserAndTaskDate(user, date).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return viewCache.get(userId, "date:" + date, date, date,
+                () -> withOccurrences(taskRepository.findDtosByUserAndTaskDate(userId, date), userId, date, date));
     }
     
     /**
-     * Busca tarefas de um usuário em um período
+     * Busca uma página das tarefas de um usuário em um período, incluindo as
+     * ocorrências das séries recorrentes
      * @param userId ID do usuário
      * @param startDate Data inicial
      * @param endDate Data final
-     * @return Lista de TaskDTO
+     * @param cursor Cursor da página anterior (null para a primeira página)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskPage com as tarefas e o cursor da próxima página
      */
     @Transactional(readOnly = true)
-    public List<TaskDTO> findByUserAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        User user = getUserById(userId);
-        return taskRepository.findByUserAndTaskDateBetween(user, startDate, endDate).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public TaskPage findByUserAndDateRange(Long userId, LocalDate startDate, LocalDate endDate,
+                                          String cursor, Integer size) {
+        return viewCache.get(userId, "range:" + startDate + ":" + endDate + ":" + cursor + ":" + resolvePageSize(size),
+                startDate, endDate,
+                () -> fetchPageWithOccurrences(cursor, size, userId, startDate, endDate,
+                        (afterDate, afterId, pageable) -> taskRepository.findPageByUserAndTaskDateBetween(
+                                userId, startDate, endDate, afterDate, afterId, pageable)));
     }
     
     /**
-     * Busca tarefas da semana atual de um usuário
+     * Busca tarefas da semana atual de um usuário, incluindo as ocorrências
+     * das séries recorrentes
      * @param userId ID do usuário
      * @return Lista de TaskDTO
      */
     @Transactional(readOnly = true)
     public List<TaskDTO> findTasksForCurrentWeek(Long userId) {
-        User user = getUserById(userId);
         LocalDate today = LocalDate.now();
         LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(java.time.DayOfWeek.MONDAY));
         LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(java.time.DayOfWeek.SUNDAY));
         
-        return taskRepository.findTasksForWeek(user, startOfWeek, endOfWeek).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return viewCache.get(userId, "week:" + startOfWeek, startOfWeek, endOfWeek,
+                () -> withOccurrences(taskRepository.findDtosByUserAndTaskDateBetween(userId, startOfWeek, endOfWeek),
+                        userId, startOfWeek, endOfWeek));
     }
     
     /**
-     * Busca tarefas do mês atual de um usuário
+     * Busca tarefas do mês atual de um usuário, incluindo as ocorrências
+     * das séries recorrentes
      * @param userId ID do usuário
      * @return Lista de TaskDTO
      */
     @Transactional(readOnly = true)
     public List<TaskDTO> findTasksForCurrentMonth(Long userId) {
-        User user = getUserById(userId);
         LocalDate today = LocalDate.now();
         LocalDate startOfMonth = today.with(TemporalAdjusters.firstDayOfMonth());
         LocalDate endOfMonth = today.with(TemporalAdjusters.lastDayOfMonth());
         
-        return taskRepository.findTasksForMonth(user, startOfMonth, endOfMonth).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return viewCache.get(userId, "month:" + startOfMonth, startOfMonth, endOfMonth,
+                () -> withOccurrences(taskRepository.findDtosByUserAndTaskDateBetween(userId, startOfMonth, endOfMonth),
+                        userId, startOfMonth, endOfMonth));
     }
     
     /**
-     * Busca tarefas por status de conclusão
+     * Busca tarefas por status de conclusão (paginado)
      * @param userId ID do usuário
      * @param completed Status de conclusão
-     * @return Lista de TaskDTO
+     * @param cursor Cursor da página anterior (null para a primeira página)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskPage com as tarefas e o cursor da próxima página
      */
     @Transactional(readOnly = true)
-    public List<TaskDTO> findByUserAndCompleted(Long userId, Boolean completed) {
-        User user = getUserById(userId);
-        return taskRepository.findByUserAndCompleted(user, completed).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public TaskPage findByUserAndCompleted(Long userId, Boolean completed, String cursor, Integer size) {
+        return fetchPage(cursor, size,
+                (afterDate, afterId, pageable) -> taskRepository.findPageByUserAndCompleted(userId, completed, afterDate, afterId, pageable));
     }
     
     /**
-     * Busca tarefas por prioridade
+     * Busca tarefas por prioridade (paginado)
      * @param userId ID do usuário
      * @param priority Prioridade
-     * @return Lista de TaskDTO
+     * @param cursor Cursor da página anterior (null para a primeira página)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskPage com as tarefas e o cursor da próxima página
      */
     @Transactional(readOnly = true)
-    public List<TaskDTO> findByUserAndPriority(Long userId, Task.Priority priority) {
-        User user = getUserById(userId);
-        return taskRepository.findByUserAndPriority(user, priority).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public TaskPage findByUserAndPriority(Long userId, Task.Priority priority, String cursor, Integer size) {
+        return fetchPage(cursor, size,
+                (afterDate, afterId, pageable) -> taskRepository.findPageByUserAndPriority(userId, priority, afterDate, afterId, pageable));
     }
     
     /**
-     * Busca tarefas por categoria
+     * Busca tarefas por categoria (paginado)
      * @param userId ID do usuário
      * @param category Categoria
-     * @return Lista de TaskDTO
+     * @param cursor Cursor da página anterior (null para a primeira página)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskPage com as tarefas e o cursor da próxima página
      */
     @Transactional(readOnly = true)
-    public List<TaskDTO> findByUserAndCategory(Long userId, Task.Category category) {
-        User user = getUserById(userId);
-        return taskRepository.findByUserAndCategory(user, category).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public TaskPage findByUserAndCategory(Long userId, Task.Category category, String cursor, Integer size) {
+        return fetchPage(cursor, size,
+                (afterDate, afterId, pageable) -> taskRepository.findPageByUserAndCategory(userId, category, afterDate, afterId, pageable));
     }
     
     /**
-     * Busca tarefas por título
+     * Busca tarefas por título (paginado)
      * @param userId ID do usuário
      * @param title Título ou parte do título
-     * @return Lista de TaskDTO
+     * @param cursor Cursor da página anterior (null para a primeira página)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskPage com as tarefas e o cursor da próxima página
      */
     @Transactional(readOnly = true)
-    public List<TaskDTO> findByUserAndTitle(Long userId, String title) {
-        User user = getUserById(userId);
-        return taskRepository.findByUserAndTitleContainingIgnoreCase(user, title).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public TaskPage findByUserAndTitle(Long userId, String title, String cursor, Integer size) {
+        return fetchPage(cursor, size,
+                (afterDate, afterId, pageable) -> taskRepository.findPageByUserAndTitle(userId, title, afterDate, afterId, pageable));
+    }
+    
+    /**
+     * Busca tarefas combinando período, status, prioridades, categorias e
+     * título em uma única consulta paginada
+     * @param userId ID do usuário
+     * @param query Critérios da busca
+     * @param cursor Cursor da página anterior (null para a primeira página)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskPage com as tarefas e o cursor da próxima página
+     * @throws InvalidTaskQueryException se os critérios forem inválidos
+     * @throws InvalidCursorException se o cursor for inválido
+     */
+    @Transactional(readOnly = true)
+    public TaskPage query(Long userId, TaskQuery query, String cursor, Integer size) {
+        if (!query.hasValidSort()) {
+            throw new InvalidTaskQueryException("Ordenação inválida: use asc ou desc");
+        }
+        if (query.getStartDate() != null && query.getEndDate() != null
+                && query.getStartDate().isAfter(query.getEndDate())) {
+            throw new InvalidTaskQueryException("Data inicial deve ser anterior à data final");
+        }
+        TaskCursor after = TaskCursor.decode(cursor, query.isAscending() ? TaskCursor.FIRST : TaskCursor.LAST);
+        
+        return fetchPage(after, size,
+                (afterDate, afterId, pageable) -> taskRepository.search(
+                        userId, query, afterDate, afterId, pageable.getPageSize()));
+    }
+    
+    /**
+     * Sincronização incremental: tarefas criadas ou alteradas e IDs das tarefas
+     * removidas após o cursor, em ordem de versão de alteração. As duas consultas
+     * são limitadas à versão lida no início, de modo que o cursor retornado nunca
+     * passa por uma alteração ainda não visível a uma delas.
+     * @param userId ID do usuário
+     * @param cursor Cursor da sincronização anterior (null para a sincronização completa)
+     * @param size Tamanho da página (null para o padrão)
+     * @return TaskChanges com as alterações e o cursor para a próxima chamada
+     * @throws InvalidCursorException se o cursor for inválido
+     * @throws TaskChangeCursorExpiredException se as exclusões desde o cursor já tiverem sido descartadas
+     */
+    @Transactional(readOnly = true)
+    public TaskChanges findChanges(Long userId, String cursor, Integer size) {
+        TaskChangeCursor after = TaskChangeCursor.decode(cursor);
+        // Sem cursor (versão 0) o cliente ainda não tem tarefas: exclusões descartadas não o afetam
+        if (after.getChangeVersion() > 0
+                && after.getChangeVersion() <= userRepository.findTasksSyncFloorById(userId).orElse(0L)) {
+            throw new TaskChangeCursorExpiredException();
+        }
+        long maxVersion = getTasksVersion(userId);
+        int pageSize = resolvePageSize(size);
+        
+        // Uma linha a mais em cada consulta apenas para saber se existe próxima página
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<TaskDTO> changed = taskRepository.findChangesByUser(
+                userId, after.getChangeVersion(), after.getId(), maxVersion, limit);
+        List<TaskTombstone> removed = tombstoneRepository.findPageByUser(
+                userId, after.getChangeVersion(), after.getId(), maxVersion, limit);
+        
+        // Intercala as duas listas pela posição (versão, id) até completar a página
+        List<TaskDTO> tasks = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        TaskChangeCursor last = after;
+        int i = 0;
+        int j = 0;
+        while (tasks.size() + deleted.size() < pageSize && (i < changed.size() || j < removed.size())) {
+            TaskChangeCursor nextChanged = i < changed.size()
+                    ? new TaskChangeCursor(changed.get(i).getChangeVersion(), changed.get(i).getId())
+                    : null;
+            TaskChangeCursor nextRemoved = j < removed.size()
+                    ? new TaskChangeCursor(removed.get(j).getChangeVersion(), removed.get(j).getTaskId())
+                    : null;
+            if (nextRemoved == null || (nextChanged != null && nextChanged.compareTo(nextRemoved) < 0)) {
+                tasks.add(changed.get(i++));
+                last = nextChanged;
+            } else {
+                deleted.add(removed.get(j++).getTaskId());
+                last = nextRemoved;
+            }
+        }
+        boolean hasMore = i < changed.size() || j < removed.size();
+        
+        // Na última página o cursor avança até o fim da versão lida (a próxima chamada começa depois dela)
+        if (!hasMore && last.compareTo(TaskChangeCursor.endOf(maxVersion)) < 0) {
+            last = TaskChangeCursor.endOf(maxVersion);
+        }
+        String userName = userRepository.findNameById(userId).orElse(null);
+        return new TaskChanges(userName, tasks, deleted, last.encode(), hasMore);
     }
     
     /**
@@ -177,7 +336,8 @@ public class TaskService {
      * @return TaskDTO da tarefa criada
      */
     public TaskDTO createTask(TaskDTO taskDTO, Long userId) {
-        User user = getUserById(userId);
+        // Referência sem SELECT: nextTasksVersion já falha se o usuário não existir
+        User user = userRepository.getReferenceById(userId);
         
         Task task = new Task();
         task.setTitle(taskDTO.getTitle());
@@ -188,8 +348,69 @@ public class TaskService {
         task.setCategory(taskDTO.getCategory() != null ? taskDTO.getCategory() : Task.Category.PERSONAL);
         task.setUser(user);
         
-        Task savedTask = taskRepository.save(task);
-        return convertToDTO(savedTask);
+        long changeVersion = nextTasksVersion(userId);
+        task.setChangeVersion(changeVersion);
+        Task savedTask = taskRepository.saveAndFlush(task);
+        viewCache.invalidate(userId, savedTask.getTaskDate());
+        
+        TaskDTO created = convertToDTO(savedTask);
+        eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.CREATED, created.getId(), created);
+        TaskStats delta = new TaskStats();
+        delta.add(created.getCompleted(), created.getPriority(), created.getCategory(), 1);
+        publishChange(userId, changeVersion, TaskChangeEvent.Type.CREATED, created.getId(), created, delta);
+        return created;
+    }
+    
+    /**
+     * Cria várias tarefas de uma vez. Os INSERTs são agrupados em batches JDBC
+     * (hibernate.jdbc.batch_size) e executados em uma única transação.
+     * @param taskDTOs Dados das tarefas
+     * @param userId ID do usuário
+     * @return Lista de TaskDTO das tarefas criadas, na ordem recebida
+     * @throws RuntimeException se a lista for vazia, exceder o limite ou alguma tarefa for inválida
+     */
+    public List<TaskDTO> createTasks(List<TaskDTO> taskDTOs, Long userId) {
+        if (taskDTOs == null || taskDTOs.isEmpty()) {
+            throw new RuntimeException("Informe ao menos uma tarefa");
+        }
+        if (taskDTOs.size() > maxBatchSize) {
+            throw new RuntimeException("Máximo de " + maxBatchSize + " tarefas por requisição");
+        }
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTOs.get(i));
+            if (!violations.isEmpty()) {
+                throw new RuntimeException("Tarefa " + (i + 1) + ": " + violations.iterator().next().getMessage());
+            }
+        }
+        
+        User user = userRepository.getReferenceById(userId);
+        long changeVersion = nextTasksVersion(userId);
+        List<Task> tasks = new ArrayList<>(taskDTOs.size());
+        for (TaskDTO taskDTO : taskDTOs) {
+            Task task = new Task();
+            task.setTitle(taskDTO.getTitle());
+            task.setDescription(taskDTO.getDescription());
+            task.setTaskDate(taskDTO.getTaskDate());
+            task.setCompleted(taskDTO.getCompleted() != null ? taskDTO.getCompleted() : false);
+            task.setPriority(taskDTO.getPriority() != null ? taskDTO.getPriority() : Task.Priority.MEDIUM);
+            task.setCategory(taskDTO.getCategory() != null ? taskDTO.getCategory() : Task.Category.PERSONAL);
+            task.setUser(user);
+            task.setChangeVersion(changeVersion);
+            tasks.add(task);
+        }
+        
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        viewCache.invalidate(userId, savedTasks.stream().map(Task::getTaskDate).distinct().toArray(LocalDate[]::new));
+        publishResync(userId, changeVersion);
+        
+        List<TaskDTO> created = new ArrayList<>(savedTasks.size());
+        for (Task task : savedTasks) {
+            TaskDTO dto = convertToDTO(task);
+            eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.CREATED, dto.getId(), dto);
+            created.add(dto);
+        }
+        return created;
     }
     
     /**
@@ -197,16 +418,16 @@ public class TaskService {
      * @param id ID da tarefa
      * @param taskDTO Dados atualizados da tarefa
      * @param userId ID do usuário (para verificar propriedade)
+     * @param expectedVersion Versão esperada (If-Match; null para não verificar)
      * @return TaskDTO da tarefa atualizada
+     * @throws TaskVersionConflictException se a versão não corresponder
      */
-    public TaskDTO updateTask(Long id, TaskDTO taskDTO, Long userId) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
-        
-        // Verificar se a tarefa pertence ao usuário
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Acesso negado: tarefa não pertence ao usuário");
-        }
+    public TaskDTO updateTask(Long id, TaskDTO taskDTO, Long userId, Long expectedVersion) {
+        Task task = findOwnedTask(id, userId);
+        checkVersion(task, expectedVersion);
+        LocalDate previousDate = task.getTaskDate();
+        TaskStats delta = new TaskStats();
+        delta.add(task.getCompleted(), task.getPriority(), task.getCategory(), -1);
         
         task.setTitle(taskDTO.getTitle());
         task.setDescription(taskDTO.getDescription());
@@ -215,8 +436,17 @@ public class TaskService {
         task.setPriority(taskDTO.getPriority());
         task.setCategory(taskDTO.getCategory());
         
-        Task updatedTask = taskRepository.save(task);
-        return convertToDTO(updatedTask);
+        long changeVersion = nextTasksVersion(userId);
+        task.setChangeVersion(changeVersion);
+        // Flush imediato para que a resposta traga a nova versão
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        viewCache.invalidate(userId, previousDate, updatedTask.getTaskDate());
+        
+        TaskDTO updated = convertToDTO(updatedTask);
+        eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.UPDATED, id, updated);
+        delta.add(updated.getCompleted(), updated.getPriority(), updated.getCategory(), 1);
+        publishChange(userId, changeVersion, TaskChangeEvent.Type.UPDATED, id, updated, delta);
+        return updated;
     }
     
     /**
@@ -224,70 +454,541 @@ public class TaskService {
      * @param id ID da tarefa
      * @param completed Status de conclusão
      * @param userId ID do usuário (para verificar propriedade)
+     * @param expectedVersion Versão esperada (If-Match; null para não verificar)
      * @return TaskDTO da tarefa atualizada
+     * @throws TaskVersionConflictException se a versão não corresponder
      */
-    public TaskDTO toggleTaskCompletion(Long id, Boolean completed, Long userId) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+    public TaskDTO toggleTaskCompletion(Long id, Boolean completed, Long userId, Long expectedVersion) {
+        if (completed == null) {
+            throw new RuntimeException("Status de conclusão é obrigatório");
+        }
+        
+        // Estado anterior só é lido quando há conexões aguardando (variação das estatísticas)
+        Optional<TaskDTO> previous = changeNotifier.hasSubscribers(userId)
+                ? taskRepository.findDtoByIdAndUserId(id, userId)
+                : Optional.empty();
         
-        // Verificar se a tarefa pertence ao usuário
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Acesso negado: tarefa não pertence ao usuário");
+        // UPDATE condicional (id, user_id e versão) sem carregar a entidade
+        long changeVersion = nextTasksVersion(userId);
+        LocalDateTime now = LocalDateTime.now();
+        int affected = completed
+                ? taskRepository.completeByIdAndUserId(id, userId, expectedVersion, now, changeVersion)
+                : taskRepository.uncompleteByIdAndUserId(id, userId, expectedVersion, now, changeVersion);
+        
+        Optional<TaskDTO> current = taskRepository.findDtoByIdAndUserId(id, userId);
+        if (current.isEmpty()) {
+            throw new RuntimeException("Tarefa não encontrada");
+        }
+        if (affected == 0) {
+            throw new TaskVersionConflictException(current.get().getVersion());
         }
         
-        task.setCompleted(completed);
-        Task updatedTask = taskRepository.save(task);
-        return convertToDTO(updatedTask);
+        TaskDTO updatedTask = current.get();
+        viewCache.invalidate(userId, updatedTask.getTaskDate());
+        eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.UPDATED, id, updatedTask);
+        
+        if (previous.isPresent()) {
+            TaskStats delta = new TaskStats();
+            delta.add(previous.get().getCompleted(), previous.get().getPriority(), previous.get().getCategory(), -1);
+            delta.add(updatedTask.getCompleted(), updatedTask.getPriority(), updatedTask.getCategory(), 1);
+            publishChange(userId, changeVersion, TaskChangeEvent.Type.UPDATED, id, updatedTask, delta);
+        }
+        return updatedTask;
     }
     
     /**
-     * Deleta uma tarefa
+     * Aplica um JSON Merge Patch (RFC 7396) a uma tarefa: apenas os campos presentes
+     * são alterados, null remove a descrição, e o UPDATE gerado (@DynamicUpdate)
+     * contém somente as colunas modificadas
      * @param id ID da tarefa
+     * @param patch Documento de merge patch
      * @param userId ID do usuário (para verificar propriedade)
+     * @param expectedVersion Versão esperada (If-Match; null para não verificar)
+     * @return TaskDTO da tarefa atualizada
+     * @throws RuntimeException se a tarefa não existir ou o patch for inválido
+     * @throws TaskVersionConflictException se a versão não corresponder
      */
-    public void deleteTask(Long id, Long userId) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+    public TaskDTO patchTask(Long id, JsonNode patch, Long userId, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new RuntimeException("O patch deve ser um objeto JSON");
+        }
         
-        // Verificar se a tarefa pertence ao usuário
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Acesso negado: tarefa não pertence ao usuário");
+        Task task = findOwnedTask(id, userId);
+        checkVersion(task, expectedVersion);
+        LocalDate previousDate = task.getTaskDate();
+        TaskStats delta = new TaskStats();
+        delta.add(task.getCompleted(), task.getPriority(), task.getCategory(), -1);
+        
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "title" -> {
+                    String title = patchValue(field.getKey(), value, String.class);
+                    if (!Objects.equals(title, task.getTitle())) {
+                        task.setTitle(title);
+                    }
+                }
+                case "description" -> {
+                    String description = patchValue(field.getKey(), value, String.class);
+                    if (!Objects.equals(description, task.getDescription())) {
+                        task.setDescription(description);
+                    }
+                }
+                case "taskDate" -> {
+                    LocalDate taskDate = patchValue(field.getKey(), value, LocalDate.class);
+                    if (!Objects.equals(taskDate, task.getTaskDate())) {
+                        task.setTaskDate(taskDate);
+                    }
+                }
+                case "completed" -> {
+                    Boolean completed = patchValue(field.getKey(), value, Boolean.class);
+                    if (completed == null) {
+                        throw new RuntimeException("Status de conclusão é obrigatório");
+                    }
+                    if (!completed.equals(task.getCompleted())) {
+                        task.setCompleted(completed);
+                    }
+                }
+                case "priority" -> {
+                    Task.Priority priority = patchValue(field.getKey(), value, Task.Priority.class);
+                    if (priority == null) {
+                        throw new RuntimeException("Prioridade é obrigatória");
+                    }
+                    if (priority != task.getPriority()) {
+                        task.setPriority(priority);
+                    }
+                }
+                case "category" -> {
+                    Task.Category category = patchValue(field.getKey(), value, Task.Category.class);
+                    if (category == null) {
+                        throw new RuntimeException("Categoria é obrigatória");
+                    }
+                    if (category != task.getCategory()) {
+                        task.setCategory(category);
+                    }
+                }
+                // Campos somente leitura (enviados por clientes que reaproveitam o TaskDTO) são ignorados
+                case "id", "userId", "userName", "createdAt", "updatedAt", "completedAt", "version",
+                     "seriesId", "occurrenceDate" -> { }
+                default -> throw new RuntimeException("Campo não suportado: " + field.getKey());
+            }
         }
         
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.iterator().next().getMessage());
+        }
+        
+        long changeVersion = nextTasksVersion(userId);
+        task.setChangeVersion(changeVersion);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        viewCache.invalidate(userId, previousDate, updatedTask.getTaskDate());
+        
+        TaskDTO updated = convertToDTO(updatedTask);
+        eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.UPDATED, id, updated);
+        delta.add(updated.getCompleted(), updated.getPriority(), updated.getCategory(), 1);
+        publishChange(userId, changeVersion, TaskChangeEvent.Type.UPDATED, id, updated, delta);
+        return updated;
+    }
+    
+    /**
+     * Deleta uma tarefa
+     * @param id ID da tarefa
+     * @param userId ID do usuário (para verificar propriedade)
+     * @param expectedVersion Versão esperada (If-Match; null para não verificar)
+     * @throws TaskVersionConflictException se a versão não corresponder
+     */
+    public void deleteTask(Long id, Long userId, Long expectedVersion) {
+        Task task = findOwnedTask(id, userId);
+        checkVersion(task, expectedVersion);
+        
+        // O tombstone é gravado antes do DELETE (o INSERT ... SELECT lê a tarefa)
+        long changeVersion = nextTasksVersion(userId);
+        tombstoneRepository.insertForTasks(userId, List.of(id), changeVersion, LocalDateTime.now());
+        if (task.getSeriesId() != null) {
+            // Ocorrência de série: registrada como excluída para não voltar a ser expandida
+            skipRepository.save(new TaskSeriesSkip(task.getSeriesId(), task.getOccurrenceDate()));
+        }
         taskRepository.delete(task);
+        viewCache.invalidate(userId, task.getTaskDate());
+        eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.DELETED, id, null);
+        
+        TaskStats delta = new TaskStats();
+        delta.add(task.getCompleted(), task.getPriority(), task.getCategory(), -1);
+        publishChange(userId, changeVersion, TaskChangeEvent.Type.DELETED, id, null, delta);
+    }
+    
+    /**
+     * Marca várias tarefas do usuário como concluídas ou pendentes com um único UPDATE
+     * @param ids IDs das tarefas (as que não pertencem ao usuário são ignoradas)
+     * @param completed Status de conclusão
+     * @param userId ID do usuário
+     * @return Número de tarefas alteradas
+     * @throws RuntimeException se a lista de IDs for vazia ou exceder o limite
+     */
+    public int setCompleted(List<Long> ids, Boolean completed, Long userId) {
+        validateIds(ids);
+        if (completed == null) {
+            throw new RuntimeException("Status de conclusão é obrigatório");
+        }
+        
+        long changeVersion = nextTasksVersion(userId);
+        LocalDateTime now = LocalDateTime.now();
+        int affected = completed
+                ? taskRepository.completeByUserIdAndIdIn(userId, ids, now, changeVersion)
+                : taskRepository.uncompleteByUserIdAndIdIn(userId, ids, now, changeVersion);
+        // As datas das tarefas não são lidas: todas as visões do usuário são invalidadas
+        if (affected > 0) {
+            viewCache.invalidate(userId, (LocalDate[]) null);
+            publishResync(userId, changeVersion);
+            eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.BULK, null, null);
+        } else {
+            discardChange();
+        }
+        return affected;
     }
     
     /**
-     * Conta tarefas concluídas de um usuário
+     * Deleta várias tarefas do usuário com um único DELETE
+     * @param ids IDs das tarefas (as que não pertencem ao usuário são ignoradas)
      * @param userId ID do usuário
-     * @return Número de tarefas concluídas
+     * @return Número de tarefas removidas
+     * @throws RuntimeException se a lista de IDs for vazia ou exceder o limite
+     */
+    public int deleteTasks(List<Long> ids, Long userId) {
+        validateIds(ids);
+        
+        long changeVersion = nextTasksVersion(userId);
+        tombstoneRepository.insertForTasks(userId, ids, changeVersion, LocalDateTime.now());
+        skipRepository.insertForTasks(userId, ids);
+        int affected = taskRepository.deleteByUserIdAndIdIn(userId, ids);
+        // As datas das tarefas não são lidas: todas as visões do usuário são invalidadas
+        if (affected > 0) {
+            viewCache.invalidate(userId, (LocalDate[]) null);
+            publishResync(userId, changeVersion);
+            eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.BULK, null, null);
+        } else {
+            discardChange();
+        }
+        return affected;
+    }
+    
+    /**
+     * Deleta as tarefas concluídas do usuário com data anterior à informada
+     * @param before Data limite (exclusiva)
+     * @param userId ID do usuário
+     * @return Número de tarefas removidas
+     */
+    public int deleteCompletedBefore(LocalDate before, Long userId) {
+        if (before == null) {
+            throw new RuntimeException("Data limite é obrigatória");
+        }
+        
+        long changeVersion = nextTasksVersion(userId);
+        tombstoneRepository.insertForCompletedBefore(userId, before, changeVersion, LocalDateTime.now());
+        skipRepository.insertForCompletedBefore(userId, before);
+        int affected = taskRepository.deleteCompletedByUserIdBefore(userId, before);
+        if (affected > 0) {
+            viewCache.invalidateRange(userId, null, before.minusDays(1));
+            publishResync(userId, changeVersion);
+            eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.BULK, null, null);
+        } else {
+            discardChange();
+        }
+        return affected;
+    }
+    
+    /**
+     * Move para uma nova data todas as tarefas do usuário em um período
+     * @param startDate Data inicial do período
+     * @param endDate Data final do período
+     * @param newDate Nova data das tarefas
+     * @param userId ID do usuário
+     * @return Número de tarefas alteradas
+     */
+    public int reschedule(LocalDate startDate, LocalDate endDate, LocalDate newDate, Long userId) {
+        if (startDate == null || endDate == null || newDate == null) {
+            throw new RuntimeException("Período e nova data são obrigatórios");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Data inicial deve ser anterior à data final");
+        }
+        
+        long changeVersion = nextTasksVersion(userId);
+        int affected = taskRepository.rescheduleByUserIdAndTaskDateBetween(
+                userId, startDate, endDate, newDate, LocalDateTime.now(), changeVersion);
+        if (affected > 0) {
+            viewCache.invalidateRange(userId, startDate, endDate);
+            viewCache.invalidate(userId, newDate);
+            publishResync(userId, changeVersion);
+            eventOutbox.append(userId, changeVersion, TaskOutboxEvent.Type.BULK, null, null);
+        } else {
+            discardChange();
+        }
+        return affected;
+    }
+    
+    /**
+     * Calcula as estatísticas das tarefas de um usuário com uma única consulta agregada
+     * @param userId ID do usuário
+     * @return Totais por status, prioridade e categoria
      */
     @Transactional(readOnly = true)
-    public long countCompletedTasks(Long userId) {
-        User user = getUserById(userId);
-        return taskRepository.countCompletedTasksByUser(user);
+    public TaskStats getTaskStats(Long userId) {
+        return viewCache.get(userId, "stats", null, null, () -> {
+            TaskStats stats = new TaskStats();
+            for (Object[] row : taskRepository.countGroupedByUserId(userId)) {
+                stats.add((Boolean) row[0], (Task.Priority) row[1], (Task.Category) row[2], ((Number) row[3]).longValue());
+            }
+            return stats;
+        });
     }
     
     /**
-     * Conta tarefas pendentes de um usuário
+     * Retorna a versão das tarefas de um usuário, usada como validador (ETag)
+     * das listagens; muda a cada criação, alteração ou exclusão de tarefa
      * @param userId ID do usuário
-     * @return Número de tarefas pendentes
+     * @return Versão atual (0 se o usuário não existir)
      */
     @Transactional(readOnly = true)
-    public long countPendingTasks(Long userId) {
-        User user = getUserById(userId);
-        return taskRepository.countPendingTasksByUser(user);
+    public long getTasksVersion(Long userId) {
+        return userRepository.findTasksVersionById(userId).orElse(0L);
+    }
+    
+    /**
+     * Acrescenta às tarefas gravadas de um período as ocorrências ainda não
+     * materializadas das séries recorrentes do usuário
+     * @param tasks Tarefas gravadas no período
+     * @param userId ID do usuário
+     * @param from Data inicial do período
+     * @param to Data final do período
+     * @return Lista ordenada por data, com as ocorrências virtuais após as tarefas gravadas
+     */
+    private List<TaskDTO> withOccurrences(List<TaskDTO> tasks, Long userId, LocalDate from, LocalDate to) {
+        List<TaskDTO> occurrences = seriesService.expandOccurrences(userId, from, to);
+        if (occurrences.isEmpty()) {
+            return tasks;
+        }
+        List<TaskDTO> merged = new ArrayList<>(tasks.size() + occurrences.size());
+        merged.addAll(tasks);
+        merged.addAll(occurrences);
+        merged.sort(VIEW_ORDER);
+        return merged;
     }
     
     /**
-     * Busca usuário por ID
+     * Converte o valor de um campo do merge patch
+     * @param field Nome do campo
+     * @param value Valor JSON (null remove o valor)
+     * @param type Tipo esperado
+     * @return Valor convertido ou null
+     * @throws RuntimeException se o valor não for compatível com o tipo
+     */
+    private <T> T patchValue(String field, JsonNode value, Class<T> type) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Valor inválido para " + field);
+        }
+    }
+    
+    /**
+     * Inicia uma alteração nas tarefas do usuário incrementando a versão na mesma
+     * transação. O UPDATE bloqueia a linha do usuário até o commit, então as
+     * alterações de um mesmo usuário são serializadas e a versão cresce na ordem
+     * dos commits; por isso é chamado antes de qualquer escrita em tasks (mesma
+     * ordem de bloqueio em todas as operações) e a versão retornada é gravada em
+     * change_version das tarefas alteradas e nos tombstones das removidas.
      * @param userId ID do usuário
-     * @return User
-     * @throws RuntimeException se usuário não encontrado
+     * @return Nova versão das tarefas do usuário
+     * @throws RuntimeException se o usuário não existir
      */
-    private User getUserById(Long userId) {
-        return userRepository.findById(userId)
+    private long nextTasksVersion(Long userId) {
+        userRepository.incrementTasksVersion(userId);
+        long version = userRepository.findTasksVersionById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        viewCache.advance(userId, version);
+        return version;
+    }
+    
+    /**
+     * Desfaz a transação de uma operação em lote que não alterou nenhuma tarefa,
+     * para que a versão das tarefas (e o ETag das listagens) não mude
+     */
+    private void discardChange() {
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+    }
+    
+    /**
+     * Notifica, após o commit, as conexões que aguardam alterações do usuário
+     * @param userId ID do usuário
+     * @param version Versão das tarefas após a alteração
+     * @param type Tipo da alteração
+     * @param taskId ID da tarefa alterada (null em alterações em lote)
+     * @param task Estado atual da tarefa (null em exclusões e alterações em lote)
+     * @param statsDelta Variação das estatísticas causada pela alteração
+     */
+    private void publishChange(Long userId, long version, TaskChangeEvent.Type type, Long taskId, TaskDTO task,
+                               TaskStats statsDelta) {
+        if (changeNotifier.hasSubscribers(userId)) {
+            changeNotifier.publish(userId, new TaskChangeEvent(version, type, taskId, task, statsDelta));
+        }
+    }
+    
+    /**
+     * Pede às conexões abertas do usuário que recarreguem as tarefas (alterações em lote)
+     * @param userId ID do usuário
+     * @param version Versão das tarefas após a alteração
+     */
+    private void publishResync(Long userId, long version) {
+        publishChange(userId, version, TaskChangeEvent.Type.RESYNC, null, null, null);
+    }
+    
+    /**
+     * Valida a lista de IDs de uma operação em lote
+     * @param ids IDs das tarefas
+     * @throws RuntimeException se a lista for vazia ou exceder o limite
+     */
+    private void validateIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("Informe ao menos uma tarefa");
+        }
+        if (ids.size() > maxBatchSize) {
+            throw new RuntimeException("Máximo de " + maxBatchSize + " tarefas por requisição");
+        }
+    }
+    
+    /**
+     * Busca uma tarefa do usuário para alteração; a propriedade é verificada
+     * na própria consulta (id e user_id)
+     * @param id ID da tarefa
+     * @param userId ID do usuário
+     * @return Task
+     * @throws RuntimeException se a tarefa não existir ou não pertencer ao usuário
+     */
+    private Task findOwnedTask(Long id, Long userId) {
+        return taskRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+    }
+    
+    /**
+     * Verifica a versão esperada pelo cliente (If-Match). O UPDATE/DELETE gerado
+     * pelo Hibernate também filtra pela versão carregada, cobrindo alterações
+     * concorrentes entre a leitura e a escrita.
+     * @param task Tarefa carregada
+     * @param expectedVersion Versão esperada (null para não verificar)
+     * @throws TaskVersionConflictException se a versão não corresponder
+     */
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskVersionConflictException(task.getVersion());
+        }
+    }
+    
+    /**
+     * Consulta paginada por keyset a partir de um cursor
+     */
+    @FunctionalInterface
+    private interface PageQuery {
+        List<TaskDTO> fetch(LocalDate afterDate, Long afterId, Pageable pageable);
+    }
+    
+    /**
+     * Executa uma consulta por keyset e monta a página com o próximo cursor
+     * @param cursor Cursor recebido do cliente
+     * @param size Tamanho de página solicitado
+     * @param query Consulta a executar
+     * @return TaskPage
+     * @throws InvalidCursorException se o cursor for inválido
+     */
+    private TaskPage fetchPage(String cursor, Integer size, PageQuery query) {
+        return fetchPage(TaskCursor.decode(cursor), size, query);
+    }
+    
+    /**
+     * Executa uma consulta por keyset a partir de uma posição já decodificada
+     * @param after Posição da última tarefa da página anterior
+     * @param size Tamanho de página solicitado
+     * @param query Consulta a executar
+     * @return TaskPage
+     */
+    private TaskPage fetchPage(TaskCursor after, Integer size, PageQuery query) {
+        if (after.getSeriesId() != null) {
+            // Cursor de ocorrência só existe nas listagens que incluem as séries
+            throw new InvalidCursorException("Cursor inválido");
+        }
+        int pageSize = resolvePageSize(size);
+        
+        // Busca uma linha a mais apenas para saber se existe próxima página
+        List<TaskDTO> rows = query.fetch(after.getTaskDate(), after.getId(), PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskDTO> tasks = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            TaskDTO last = tasks.get(tasks.size() - 1);
+            nextCursor = new TaskCursor(last.getTaskDate(), last.getId()).encode();
+        }
+        return new TaskPage(tasks, nextCursor);
+    }
+    
+    /**
+     * Executa uma consulta por keyset intercalando as ocorrências virtuais das séries
+     * com as tarefas gravadas, na ordem das visões (data, tarefas gravadas por ID e
+     * depois ocorrências por série). Só é expandido o trecho que pode entrar na
+     * página: até a data da primeira tarefa gravada que fica fora dela e no máximo
+     * uma página de ocorrências.
+     * @param cursor Cursor recebido do cliente
+     * @param size Tamanho de página solicitado
+     * @param userId ID do usuário
+     * @param from Primeira data das ocorrências
+     * @param to Última data das ocorrências
+     * @param query Consulta das tarefas gravadas
+     * @return TaskPage
+     * @throws InvalidCursorException se o cursor for inválido
+     */
+    private TaskPage fetchPageWithOccurrences(String cursor, Integer size, Long userId,
+                                              LocalDate from, LocalDate to, PageQuery query) {
+        TaskCursor after = TaskCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        
+        // Cursor em uma ocorrência: as tarefas gravadas da mesma data já foram entregues
+        Long afterId = after.getSeriesId() != null ? Long.MAX_VALUE : after.getId();
+        List<TaskDTO> rows = query.fetch(after.getTaskDate(), afterId, PageRequest.of(0, pageSize + 1));
+        List<TaskDTO> merged = new ArrayList<>(rows);
+        
+        LocalDate expandFrom = after.getTaskDate().isAfter(from) ? after.getTaskDate() : from;
+        LocalDate expandTo = to;
+        if (rows.size() > pageSize && rows.get(pageSize).getTaskDate().isBefore(to)) {
+            expandTo = rows.get(pageSize).getTaskDate();
+        }
+        if (!expandFrom.isAfter(expandTo)) {
+            Long afterSeriesId = expandFrom.equals(after.getTaskDate()) ? after.getSeriesId() : null;
+            merged.addAll(seriesService.expandOccurrences(userId, expandFrom, afterSeriesId, expandTo, pageSize + 1));
+        }
+        merged.sort(VIEW_ORDER);
+        
+        boolean hasMore = merged.size() > pageSize;
+        List<TaskDTO> tasks = hasMore ? new ArrayList<>(merged.subList(0, pageSize)) : merged;
+        String nextCursor = hasMore ? TaskCursor.of(tasks.get(tasks.size() - 1)).encode() : null;
+        return new TaskPage(tasks, nextCursor);
+    }
+    
+    /**
+     * Aplica o tamanho padrão e o limite máximo de página
+     * @param size Tamanho solicitado
+     * @return Tamanho efetivo
+     */
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
     }
     
     /**
@@ -308,7 +1009,10 @@ public class TaskService {
                 task.getUpdatedAt(),
                 task.getCompletedAt(),
                 task.getUser().getId(),
-                task.getUser().getName()
+                task.getUser().getName(),
+                task.getVersion(),
+                task.getSeriesId(),
+                task.getOccurrenceDate()
         );
     }
 }
@@ -0,0 +1,95 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
+import com.taskmanager.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Descarta periodicamente os tombstones (registros de exclusão) mais antigos que o
+ * período de retenção. Antes de descartá-los registra, por usuário, a maior versão
+ * removida (users.tasks_sync_floor): clientes com cursor anterior a ela recebem
+ * 410 na sincronização incremental e precisam sincronizar do zero.
+ * Com várias instâncias da aplicação a limpeza pode rodar em todas (a operação é idempotente).
+ */
+@Component
+public class TaskTombstonePurger implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TaskTombstonePurger.class);
+    
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long retentionDays;
+    private final ScheduledExecutorService executor;
+    
+    private final Counter purgedCounter;
+    
+    public TaskTombstonePurger(TaskTombstoneRepository tombstoneRepository,
+                               UserRepository userRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${tasks.sync.purge.enabled:true}") boolean enabled,
+                               @Value("${tasks.sync.tombstone-retention-days:30}") long retentionDays,
+                               @Value("${tasks.sync.purge.interval-minutes:60}") long intervalMinutes,
+                               MeterRegistry meterRegistry) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        
+        this.purgedCounter = Counter.builder("tasks.sync.tombstones.purged")
+                .description("Registros de exclusão descartados após o período de retenção")
+                .register(meterRegistry);
+        
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-tombstone-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::run, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+    
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    
+    private void run() {
+        try {
+            Integer purged = transactionTemplate.execute(status -> purge(LocalDateTime.now().minusDays(retentionDays)));
+            if (purged != null && purged > 0) {
+                purgedCounter.increment(purged);
+                logger.info("{} registros de exclusão de tarefas descartados", purged);
+            }
+        } catch (RuntimeException e) {
+            // Falha de banco: tenta novamente no próximo ciclo
+            logger.warn("Erro ao descartar registros de exclusão de tarefas: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Registra o limite de sincronização de cada usuário e descarta os tombstones
+     * anteriores à data informada, na mesma transação
+     * @param cutoff Exclusões anteriores a esta data/hora são descartadas
+     * @return Número de registros descartados
+     */
+    private int purge(LocalDateTime cutoff) {
+        userRepository.raiseTasksSyncFloor(cutoff);
+        return tombstoneRepository.deleteDeletedBefore(cutoff);
+    }
+}
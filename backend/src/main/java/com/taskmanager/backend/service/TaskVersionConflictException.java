@@ -0,0 +1,19 @@
+package com.taskmanager.backend.service;
+
+/**
+ * Lançada quando a versão informada (If-Match) não corresponde à versão atual da tarefa.
+ * O TaskController a traduz em 412 Precondition Failed.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+    
+    private final Long currentVersion;
+    
+    public TaskVersionConflictException(Long currentVersion) {
+        super("A tarefa foi alterada por outra requisição; recarregue e tente novamente");
+        this.currentVersion = currentVersion;
+    }
+    
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,309 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.config.PrimaryReads;
+import com.taskmanager.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória das visões de tarefas, separado por usuário.
+ * Cada entrada guarda o intervalo de datas que cobre (ou nenhum, para visões
+ * de todas as datas), e uma alteração remove apenas as entradas do usuário
+ * cujo intervalo contém a data alterada. O tamanho é limitado por usuário e
+ * pelo número de usuários (LRU), e as entradas expiram após o TTL configurado.
+ * Os valores armazenados são compartilhados entre requisições e não devem ser alterados.
+ * As consultas que preenchem o cache leem sempre do primário (nunca de uma réplica atrasada).
+ *
+ * Cada entrada guarda também a versão das tarefas do usuário (users.tasks_version)
+ * lida antes da consulta, e só é servida enquanto essa versão for a atual. Assim uma
+ * alteração feita por outra instância (que não invalida este cache) nunca deixa uma
+ * visão antiga ser servida sob o ETag da versão nova. As alterações feitas por esta
+ * instância avançam para a nova versão as entradas que não foram afetadas por elas.
+ */
+@Component
+public class TaskViewCache {
+
+    // As remoções após o commit rodam antes do avanço de versão das visões restantes
+    private static final int EVICTION_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final boolean enabled;
+    private final int maxEntriesPerUser;
+    private final long ttlMillis;
+    private final Map<Long, UserViews> users;
+    private final PrimaryReads primaryReads;
+    private final UserRepository userRepository;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+    private final Counter staleEvictionCounter;
+    private final Counter invalidationEvictionCounter;
+
+    public TaskViewCache(@Value("${tasks.cache.enabled:true}") boolean enabled,
+                         @Value("${tasks.cache.max-users:1000}") int maxUsers,
+                         @Value("${tasks.cache.max-entries-per-user:32}") int maxEntriesPerUser,
+                         @Value("${tasks.cache.ttl-seconds:60}") long ttlSeconds,
+                         PrimaryReads primaryReads,
+                         UserRepository userRepository,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.primaryReads = primaryReads;
+        this.userRepository = userRepository;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<Long, UserViews>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserViews> eldest) {
+                if (size() > maxUsers) {
+                    sizeEvictionCounter.increment(eldest.getValue().clear());
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        this.hitCounter = requests(meterRegistry, "hit");
+        this.missCounter = requests(meterRegistry, "miss");
+        this.sizeEvictionCounter = evictions(meterRegistry, "size");
+        this.expiredEvictionCounter = evictions(meterRegistry, "expired");
+        this.staleEvictionCounter = evictions(meterRegistry, "stale");
+        this.invalidationEvictionCounter = evictions(meterRegistry, "invalidation");
+        Gauge.builder("tasks.cache.users", users, Map::size)
+                .description("Usuários com visões de tarefas em cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retorna a visão em cache ou a carrega e armazena. A versão das tarefas é lida
+     * do primário antes da busca: como o ETag da resposta é lido antes dela, a visão
+     * servida é sempre pelo menos tão recente quanto o ETag
+     * @param userId ID do usuário
+     * @param key Chave da visão (única dentro do usuário)
+     * @param from Primeira data coberta pela visão (null para todas as datas)
+     * @param to Última data coberta pela visão (null para todas as datas)
+     * @param loader Consulta executada em caso de ausência
+     * @return Valor da visão
+     */
+    public <T> T get(Long userId, String key, LocalDate from, LocalDate to, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        long version = primaryReads.read(() -> userRepository.findTasksVersionById(userId).orElse(0L));
+        UserViews views = users.computeIfAbsent(userId, id -> new UserViews());
+        long generation;
+        synchronized (views) {
+            Entry entry = views.entries.get(key);
+            if (entry != null) {
+                if (entry.version == version && entry.expiresAt > System.currentTimeMillis()) {
+                    hitCounter.increment();
+                    @SuppressWarnings("unchecked")
+                    T value = (T) entry.value;
+                    return value;
+                }
+                views.entries.remove(key);
+                (entry.version == version ? expiredEvictionCounter : staleEvictionCounter).increment();
+            }
+            generation = views.generation;
+        }
+
+        missCounter.increment();
+        T value = primaryReads.read(loader);
+
+        synchronized (views) {
+            // Uma alteração concorrente invalidou o usuário durante a consulta: não armazena dado possivelmente antigo
+            if (views.generation == generation) {
+                views.entries.put(key, new Entry(value, version, from, to, System.currentTimeMillis() + ttlMillis));
+                if (views.entries.size() > maxEntriesPerUser) {
+                    Iterator<Entry> eldest = views.entries.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    sizeEvictionCounter.increment();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Remove as visões do usuário afetadas por alterações nas datas informadas.
+     * Dentro de uma transação a remoção ocorre novamente após o commit, para que
+     * leituras concorrentes não armazenem o estado anterior à alteração.
+     * @param userId ID do usuário
+     * @param dates Datas das tarefas alteradas (antes e depois da alteração)
+     */
+    public void invalidate(Long userId, LocalDate... dates) {
+        Predicate<Entry> affected = dates == null
+                ? entry -> true
+                : entry -> Arrays.stream(dates).anyMatch(entry::covers);
+        evict(userId, affected);
+        afterCommit(() -> evict(userId, affected), EVICTION_ORDER);
+    }
+
+    /**
+     * Remove as visões do usuário que se sobrepõem a um intervalo de datas
+     * (alterações em lote cujas datas exatas não são conhecidas)
+     * @param userId ID do usuário
+     * @param from Primeira data do intervalo (null para sem limite inferior)
+     * @param to Última data do intervalo (null para sem limite superior)
+     */
+    public void invalidateRange(Long userId, LocalDate from, LocalDate to) {
+        Predicate<Entry> affected = entry -> entry.overlaps(from, to);
+        evict(userId, affected);
+        afterCommit(() -> evict(userId, affected), EVICTION_ORDER);
+    }
+
+    /**
+     * Remove todas as visões do usuário (ex.: alteração de nome ou exclusão da conta)
+     * @param userId ID do usuário
+     */
+    public void invalidateUser(Long userId) {
+        invalidate(userId, (LocalDate[]) null);
+    }
+
+    /**
+     * Registra uma alteração desta instância nas tarefas do usuário: após o commit,
+     * e depois das remoções das visões afetadas, as demais visões da versão anterior
+     * passam a valer para a nova. Visões de versões mais antigas (alterações de outra
+     * instância no meio) não avançam e são recarregadas no próximo acesso.
+     * @param userId ID do usuário
+     * @param version Nova versão das tarefas do usuário
+     */
+    public void advance(Long userId, long version) {
+        afterCommit(() -> promote(userId, version), Ordered.LOWEST_PRECEDENCE);
+    }
+
+    /**
+     * Remove todas as entradas do cache
+     */
+    public void clear() {
+        synchronized (users) {
+            users.values().forEach(UserViews::clear);
+            users.clear();
+        }
+    }
+
+    private void afterCommit(Runnable action, int order) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+
+                @Override
+                public int getOrder() {
+                    return order;
+                }
+            });
+        }
+    }
+
+    private void promote(Long userId, long version) {
+        UserViews views = users.get(userId);
+        if (views == null) {
+            return;
+        }
+        synchronized (views) {
+            for (Entry entry : views.entries.values()) {
+                if (entry.version == version - 1) {
+                    entry.version = version;
+                }
+            }
+        }
+    }
+
+    private void evict(Long userId, Predicate<Entry> affected) {
+        UserViews views = users.get(userId);
+        if (views == null) {
+            return;
+        }
+        synchronized (views) {
+            views.generation++;
+            Iterator<Entry> iterator = views.entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (affected.test(entry)) {
+                    iterator.remove();
+                    invalidationEvictionCounter.increment();
+                }
+            }
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("tasks.cache.requests")
+                .description("Consultas ao cache de visões de tarefas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("tasks.cache.evictions")
+                .description("Entradas removidas do cache de visões de tarefas")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Visões em cache de um usuário, em ordem LRU
+     */
+    private static final class UserViews {
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long generation;
+
+        synchronized int clear() {
+            int removed = entries.size();
+            entries.clear();
+            generation++;
+            return removed;
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final long expiresAt;
+        // Versão das tarefas em que a visão vale (acessada sob o bloqueio de UserViews)
+        private long version;
+
+        Entry(Object value, long version, LocalDate from, LocalDate to, long expiresAt) {
+            this.value = value;
+            this.version = version;
+            this.from = from;
+            this.to = to;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean covers(LocalDate date) {
+            if (from == null || to == null || date == null) {
+                return true;
+            }
+            return !date.isBefore(from) && !date.isAfter(to);
+        }
+
+        boolean overlaps(LocalDate start, LocalDate end) {
+            if (from == null || to == null) {
+                return true;
+            }
+            return (start == null || !to.isBefore(start)) && (end == null || !from.isAfter(end));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.config.PrimaryReads;
+import com.taskmanager.backend.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória de usuários por ID e por email.
+ * Guarda uma cópia imutável (CachedUser), nunca a entidade, em ordem LRU, com tamanho máximo
+ * e TTL; o índice por email aponta para o ID. Alterações em um usuário removem
+ * a entrada imediatamente e novamente após o commit, e consultas iniciadas antes
+ * de uma remoção não repovoam o cache com o estado anterior. As consultas que
+ * preenchem o cache leem sempre do primário (nunca de uma réplica atrasada).
+ */
+@Component
+public class UserCache {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<Long, Entry> byId;
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final PrimaryReads primaryReads;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+    private final Counter invalidationEvictionCounter;
+
+    public UserCache(@Value("${users.cache.enabled:true}") boolean enabled,
+                     @Value("${users.cache.max-size:10000}") int maxSize,
+                     @Value("${users.cache.ttl-seconds:300}") long ttlSeconds,
+                     PrimaryReads primaryReads,
+                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.primaryReads = primaryReads;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.byId = Collections.synchronizedMap(new LinkedHashMap<Long, UserCache.Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserCache.Entry> eldest) {
+                if (size() > maxSize) {
+                    idByEmail.remove(eldest.getValue().user.getEmail(), eldest.getKey());
+                    sizeEvictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        this.hitCounter = requests(meterRegistry, "hit");
+        this.missCounter = requests(meterRegistry, "miss");
+        this.sizeEvictionCounter = evictions(meterRegistry, "size");
+        this.expiredEvictionCounter = evictions(meterRegistry, "expired");
+        this.invalidationEvictionCounter = evictions(meterRegistry, "invalidation");
+        Gauge.builder("users.cache.size", byId, Map::size)
+                .description("Usuários em cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Busca um usuário por ID no cache ou no banco
+     * @param id ID do usuário
+     * @param loader Consulta executada em caso de ausência
+     * @return Optional contendo a cópia imutável do usuário
+     */
+    public Optional<CachedUser> findById(Long id, Supplier<Optional<User>> loader) {
+        if (!enabled) {
+            return loader.get().map(CachedUser::from);
+        }
+        CachedUser cached = lookup(id);
+        if (cached != null) {
+            hitCounter.increment();
+            return Optional.of(cached);
+        }
+        missCounter.increment();
+        return load(loader);
+    }
+
+    /**
+     * Busca um usuário por email no cache ou no banco
+     * @param email Email do usuário
+     * @param loader Consulta executada em caso de ausência
+     * @return Optional contendo a cópia imutável do usuário
+     */
+    public Optional<CachedUser> findByEmail(String email, Supplier<Optional<User>> loader) {
+        if (!enabled) {
+            return loader.get().map(CachedUser::from);
+        }
+        Long id = idByEmail.get(email);
+        CachedUser cached = id != null ? lookup(id) : null;
+        if (cached != null) {
+            hitCounter.increment();
+            return Optional.of(cached);
+        }
+        missCounter.increment();
+        return load(loader);
+    }
+
+    /**
+     * Remove um usuário do cache (alteração de dados, senha ou exclusão).
+     * Dentro de uma transação a remoção ocorre novamente após o commit.
+     * @param id ID do usuário
+     */
+    public void evict(Long id) {
+        remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove todas as entradas do cache
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    private CachedUser lookup(Long id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            if (byId.remove(id, entry)) {
+                idByEmail.remove(entry.user.getEmail(), id);
+                expiredEvictionCounter.increment();
+            }
+            return null;
+        }
+        return entry.user;
+    }
+
+    private Optional<CachedUser> load(Supplier<Optional<User>> loader) {
+        long startGeneration = generation.get();
+        Optional<CachedUser> user = primaryReads.read(() -> loader.get().map(CachedUser::from));
+        user.ifPresent(loaded -> {
+            synchronized (byId) {
+                // Uma remoção concorrente ocorreu durante a consulta: não armazena dado possivelmente antigo
+                if (generation.get() != startGeneration) {
+                    return;
+                }
+                Entry previous = byId.get(loaded.getId());
+                if (previous != null) {
+                    idByEmail.remove(previous.user.getEmail(), loaded.getId());
+                }
+                byId.put(loaded.getId(), new Entry(loaded, System.currentTimeMillis() + ttlMillis));
+                idByEmail.put(loaded.getEmail(), loaded.getId());
+            }
+        });
+        return user;
+    }
+
+    private void remove(Long id) {
+        synchronized (byId) {
+            generation.incrementAndGet();
+            Entry removed = byId.remove(id);
+            if (removed != null) {
+                idByEmail.remove(removed.user.getEmail(), id);
+                invalidationEvictionCounter.increment();
+            }
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.cache.requests")
+                .description("Consultas ao cache de usuários")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("users.cache.evictions")
+                .description("Entradas removidas do cache de usuários")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        private final CachedUser user;
+        private final long expiresAt;
+
+        Entry(CachedUser user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.taskmanager.backend.service;
 
 import com.taskmanager.backend.dto.RegisterRequest;
+import com.taskmanager.backend.dto.TaskChangeEvent;
 import com.taskmanager.backend.dto.UserDTO;
 import com.taskmanager.backend.entity.User;
+import com.taskmanager.backend.repository.TaskRepository;
+import com.taskmanager.backend.repository.TaskSeriesRepository;
+import com.taskmanager.backend.repository.TaskSeriesSkipRepository;
+import com.taskmanager.backend.repository.TaskTombstoneRepository;
 import com.taskmanager.backend.repository.UserRepository;
+import com.taskmanager.backend.security.TokenRevocationRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -17,12 +26,38 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService {
     
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private TaskSeriesRepository seriesRepository;
+    
+    @Autowired
+    private TaskSeriesSkipRepository seriesSkipRepository;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+    
+    @Autowired
+    private TaskViewCache taskViewCache;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private TaskChangeNotifier changeNotifier;
+    
     /**
      * Busca todos os usuários
      * @return Lista de UserDTO
@@ -41,18 +76,19 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Optional<UserDTO> findById(Long id) {
-        return userRepository.findById(id)
+        return userCache.findById(id, () -> userRepository.findById(id))
                 .map(this::convertToDTO);
     }
     
     /**
      * Busca usuário por email
      * @param email Email do usuário
-     * @return Optional contendo User se encontrado
+     * @return Optional contendo UserDTO se encontrado
      */
     @Transactional(readOnly = true)
-    public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+    public Optional<UserDTO> findByEmail(String email) {
+        return userCache.findByEmail(email, () -> userRepository.findByEmail(email))
+                .map(this::convertToDTO);
     }
     
     /**
@@ -79,21 +115,48 @@ public class UserService {
             throw new RuntimeException("As senhas não coincidem");
         }
         
-        // Verificar se email já existe
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email já está em uso");
-        }
-        
         // Criar novo usuário
         User user = new User();
         user.setName(registerRequest.getName());
         user.setEmail(registerRequest.getEmail());
         user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
         
-        User savedUser = userRepository.save(user);
+        // A constraint única de email garante a unicidade, inclusive sob concorrência
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailUniqueViolation(e)) {
+                throw new RuntimeException("Email já está em uso");
+            }
+            throw e;
+        }
         return convertToDTO(savedUser);
     }
     
+    /**
+     * Verifica se a violação de integridade veio da constraint única de email;
+     * outras violações (NOT NULL, tamanho, etc.) não são mascaradas como email duplicado
+     * @param e Exceção lançada no flush
+     * @return true se a constraint violada é uk_users_email
+     */
+    private boolean isEmailUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException constraintViolation
+                    && containsEmailConstraint(constraintViolation.getConstraintName())) {
+                return true;
+            }
+            if (containsEmailConstraint(cause.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean containsEmailConstraint(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+    }
+    
     /**
      * Atualiza um usuário existente
      * @param id ID do usuário
@@ -111,10 +174,26 @@ public class UserService {
             throw new RuntimeException("Email já está em uso");
         }
         
+        boolean emailChanged = !user.getEmail().equals(userDTO.getEmail());
+        
         user.setName(userDTO.getName());
         user.setEmail(userDTO.getEmail());
         
         User updatedUser = userRepository.save(user);
+        
+        // O email é o subject do token: tokens antigos deixam de ser válidos
+        if (emailChanged) {
+            revocationRegistry.revokeAll(id);
+        }
+        // O nome do usuário faz parte das tarefas: muda a versão e limpa o cache.
+        // As tarefas não são regravadas: a sincronização incremental envia o nome uma vez por resposta
+        userRepository.incrementTasksVersion(id);
+        long tasksVersion = userRepository.findTasksVersionById(id).orElse(0L);
+        taskViewCache.invalidateUser(id);
+        userCache.evict(id);
+        if (changeNotifier.hasSubscribers(id)) {
+            changeNotifier.publish(id, TaskChangeEvent.resync(tasksVersion));
+        }
         return convertToDTO(updatedUser);
     }
     
@@ -131,6 +210,8 @@ public class UserService {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         User updatedUser = userRepository.save(user);
+        revocationRegistry.revokeAll(id);
+        userCache.evict(id);
         return convertToDTO(updatedUser);
     }
     
@@ -143,7 +224,15 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("Usuário não encontrado");
         }
+        // As séries são removidas antes do usuário; as tarefas (removidas em cascata) são desvinculadas delas
+        taskRepository.detachAllByUserId(id);
+        seriesSkipRepository.deleteByUserId(id);
+        seriesRepository.deleteByUserId(id);
         userRepository.deleteById(id);
+        tombstoneRepository.deleteByUserId(id);
+        revocationRegistry.revokeAll(id);
+        taskViewCache.invalidateUser(id);
+        userCache.evict(id);
     }
     
     /**
@@ -180,6 +269,21 @@ public class UserService {
         );
     }
     
+    /**
+     * Converte a cópia em cache para UserDTO
+     * @param user Usuário em cache
+     * @return UserDTO
+     */
+    private UserDTO convertToDTO(CachedUser user) {
+        return new UserDTO(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getCreatedAt(),
+                user.getUpdatedAt()
+        );
+    }
+    
     /**
      * Converte UserDTO para User (sem senha)
      * @param userDTO DTO do usuário
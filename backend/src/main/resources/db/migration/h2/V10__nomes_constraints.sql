@@ -0,0 +1,4 @@
+-- Renomeia as constraints com nomes gerados pelo Hibernate em bancos SQL Server marcados
+-- como baseline na versão 1 (ver db/migration/sqlserver). No H2 o banco é sempre criado
+-- pelo V1, com os nomes esperados pelo código: nada a alterar. O arquivo mantém a
+-- numeração das migrações igual nos dois bancos.
@@ -0,0 +1,28 @@
+-- Schema inicial (equivalente ao gerado anteriormente pelo Hibernate)
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name       VARCHAR(100)  NOT NULL,
+    email      VARCHAR(150)  NOT NULL,
+    password   VARCHAR(255)  NOT NULL,
+    created_at TIMESTAMP(6)  NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    title        VARCHAR(200)  NOT NULL,
+    description  VARCHAR(1000),
+    task_date    DATE          NOT NULL,
+    completed    BOOLEAN       NOT NULL,
+    priority     VARCHAR(255)  NOT NULL,
+    category     VARCHAR(255)  NOT NULL,
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    user_id      BIGINT        NOT NULL,
+    CONSTRAINT pk_tasks PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
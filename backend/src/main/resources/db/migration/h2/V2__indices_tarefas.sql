@@ -0,0 +1,10 @@
+-- Índices compostos para os padrões de acesso do TaskRepository
+-- (H2 não suporta INCLUDE; as chaves são as mesmas do SQL Server)
+
+CREATE INDEX ix_tasks_user_date ON tasks (user_id, task_date, id);
+
+CREATE INDEX ix_tasks_user_completed_date ON tasks (user_id, completed, task_date, id);
+
+CREATE INDEX ix_tasks_user_priority_date ON tasks (user_id, priority, task_date, id);
+
+CREATE INDEX ix_tasks_user_category_date ON tasks (user_id, category, task_date, id);
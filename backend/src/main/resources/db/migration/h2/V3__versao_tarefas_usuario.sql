@@ -0,0 +1,3 @@
+-- Contador de alterações nas tarefas de cada usuário, usado como ETag das listagens
+
+ALTER TABLE users ADD COLUMN tasks_version BIGINT DEFAULT 0 NOT NULL;
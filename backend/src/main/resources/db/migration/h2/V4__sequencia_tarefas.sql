@@ -0,0 +1,10 @@
+-- IDs de tarefas passam a vir da sequência tasks_seq (otimizador pooled do Hibernate,
+-- incremento 50), permitindo batching de INSERTs via JDBC
+
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE tasks_seq AS BIGINT START WITH 50 INCREMENT BY 50;
+
+-- O otimizador pooled reserva o intervalo (valor - 49 .. valor): a sequência
+-- recomeça 50 acima do maior ID existente para não colidir com ele
+ALTER SEQUENCE tasks_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks);
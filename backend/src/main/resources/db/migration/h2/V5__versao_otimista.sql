@@ -0,0 +1,5 @@
+-- Coluna de versão para controle de concorrência otimista (@Version) em tarefas e usuários
+
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
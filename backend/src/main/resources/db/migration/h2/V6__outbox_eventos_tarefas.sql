@@ -0,0 +1,22 @@
+-- Outbox de eventos de alteração de tarefas: gravado na mesma transação da alteração
+-- e entregue de forma assíncrona aos listeners pelo TaskOutboxDispatcher
+
+-- IDs vindos de sequência (otimizador pooled, incremento 50) para permitir batching de INSERTs
+CREATE SEQUENCE task_outbox_seq AS BIGINT START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE task_outbox (
+    id          BIGINT        NOT NULL,
+    user_id     BIGINT        NOT NULL,
+    -- users.tasks_version da alteração: ordem dos eventos de cada usuário
+    tasks_version BIGINT      NOT NULL,
+    task_id     BIGINT,
+    event_type  VARCHAR(20)   NOT NULL,
+    payload     VARCHAR(4000),
+    created_at  TIMESTAMP(6)  NOT NULL,
+    attempts    INT           DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_task_outbox PRIMARY KEY (id)
+);
+
+-- Leitura do dispatcher em ordem por usuário e verificação de eventos anteriores pendentes
+CREATE INDEX ix_task_outbox_user_version ON task_outbox (user_id, tasks_version, id);
@@ -0,0 +1,47 @@
+-- Tarefas recorrentes: a regra é gravada uma única vez por série e as ocorrências são
+-- calculadas nas consultas por período. Apenas ocorrências alteradas ou concluídas viram
+-- linhas em tasks (series_id + occurrence_date) e as excluídas ficam em task_series_skips,
+-- de modo que o armazenamento não cresce com o passar do tempo.
+
+-- IDs vindos de sequência (otimizador pooled, incremento 50), como em tasks
+CREATE SEQUENCE task_series_seq AS BIGINT START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE task_series (
+    id                BIGINT        NOT NULL,
+    user_id           BIGINT        NOT NULL,
+    title             VARCHAR(200)  NOT NULL,
+    description       VARCHAR(1000),
+    priority          VARCHAR(255)  NOT NULL,
+    category          VARCHAR(255)  NOT NULL,
+    frequency         VARCHAR(20)   NOT NULL,
+    interval_count    INT           DEFAULT 1 NOT NULL,
+    start_date        DATE          NOT NULL,
+    until_date        DATE,
+    occurrence_count  INT,
+    -- Data da última ocorrência (calculada a partir de until_date/occurrence_count); NULL = sem fim
+    end_date          DATE,
+    created_at        TIMESTAMP(6)  NOT NULL,
+    updated_at        TIMESTAMP(6),
+    version           BIGINT        DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_task_series PRIMARY KEY (id),
+    CONSTRAINT fk_task_series_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Séries do usuário que alcançam um período (start_date <= fim e end_date >= início)
+CREATE INDEX ix_task_series_user_start ON task_series (user_id, start_date, end_date);
+
+-- Ocorrências materializadas: data original da ocorrência (task_date pode ter sido alterada)
+ALTER TABLE tasks ADD COLUMN series_id BIGINT;
+ALTER TABLE tasks ADD COLUMN occurrence_date DATE;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_series FOREIGN KEY (series_id) REFERENCES task_series (id);
+
+-- No máximo uma linha por ocorrência; também atende a busca das ocorrências materializadas de um período
+CREATE UNIQUE INDEX ux_tasks_series_occurrence ON tasks (series_id, occurrence_date);
+
+-- Ocorrências excluídas
+CREATE TABLE task_series_skips (
+    series_id        BIGINT  NOT NULL,
+    occurrence_date  DATE    NOT NULL,
+    CONSTRAINT pk_task_series_skips PRIMARY KEY (series_id, occurrence_date),
+    CONSTRAINT fk_task_series_skips_series FOREIGN KEY (series_id) REFERENCES task_series (id)
+);
@@ -0,0 +1,19 @@
+-- Revogação de tokens JWT: troca de senha ou email e remoção do usuário invalidam os
+-- tokens emitidos antes (claim "iat" anterior a not_before). Gravada na transação da
+-- alteração e recarregada periodicamente por todas as instâncias (TokenRevocationRegistry),
+-- de modo que sobrevive a reinícios. Sem FK para users: a revogação de um usuário
+-- removido precisa continuar valendo até os tokens dele expirarem.
+
+-- IDs vindos de sequência (otimizador pooled, incremento 50)
+CREATE SEQUENCE token_revocation_seq AS BIGINT START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE token_revocations (
+    id          BIGINT  NOT NULL,
+    user_id     BIGINT  NOT NULL,
+    -- Época em segundos (mesma precisão do claim "iat")
+    not_before  BIGINT  NOT NULL,
+    CONSTRAINT pk_token_revocations PRIMARY KEY (id)
+);
+
+-- Carga das revogações ainda dentro da validade dos tokens e limpeza das antigas
+CREATE INDEX ix_token_revocations_not_before ON token_revocations (not_before, user_id);
@@ -0,0 +1,25 @@
+-- Bancos criados pelo Hibernate (ddl-auto=update) e marcados como baseline na versão 1
+-- têm constraints em users com nomes gerados (UK..., PK__users__...). O código depende
+-- deles (UserService identifica email duplicado por uk_users_email), por isso são
+-- renomeados para os nomes do V1; bancos criados pelo V1 não são alterados.
+-- As constraints de tasks já receberam os nomes do V1 no V4.
+-- (blocos dinâmicos únicos: o Flyway executa cada instrução separadamente)
+
+-- Unicidade de email (constraint de uma única coluna: email)
+EXEC ('DECLARE @old NVARCHAR(600) = (
+           SELECT QUOTENAME(SCHEMA_NAME(kc.schema_id)) + N''.'' + QUOTENAME(kc.name)
+           FROM sys.key_constraints kc
+           JOIN sys.index_columns ic ON ic.object_id = kc.parent_object_id AND ic.index_id = kc.unique_index_id
+           JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+           WHERE kc.parent_object_id = OBJECT_ID(N''users'') AND kc.type = ''UQ'' AND c.name = N''email''
+             AND kc.name <> N''uk_users_email''
+             AND (SELECT COUNT(*) FROM sys.index_columns x
+                  WHERE x.object_id = kc.parent_object_id AND x.index_id = kc.unique_index_id) = 1);
+       IF @old IS NOT NULL EXEC sp_rename @objname = @old, @newname = N''uk_users_email'', @objtype = N''OBJECT'';');
+
+-- Chave primária de users
+EXEC ('DECLARE @old NVARCHAR(600) = (
+           SELECT QUOTENAME(SCHEMA_NAME(kc.schema_id)) + N''.'' + QUOTENAME(kc.name)
+           FROM sys.key_constraints kc
+           WHERE kc.parent_object_id = OBJECT_ID(N''users'') AND kc.type = ''PK'' AND kc.name <> N''pk_users'');
+       IF @old IS NOT NULL EXEC sp_rename @objname = @old, @newname = N''pk_users'', @objtype = N''OBJECT'';');
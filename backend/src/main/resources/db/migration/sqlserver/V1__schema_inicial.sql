@@ -0,0 +1,29 @@
+-- Schema inicial (equivalente ao gerado anteriormente pelo Hibernate com ddl-auto=update).
+-- Bancos já existentes são marcados como baseline na versão 1 (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id         BIGINT IDENTITY(1,1) NOT NULL,
+    name       VARCHAR(100)  NOT NULL,
+    email      VARCHAR(150)  NOT NULL,
+    password   VARCHAR(255)  NOT NULL,
+    created_at DATETIME2(6)  NOT NULL,
+    updated_at DATETIME2(6)  NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id           BIGINT IDENTITY(1,1) NOT NULL,
+    title        VARCHAR(200)  NOT NULL,
+    description  VARCHAR(1000) NULL,
+    task_date    DATE          NOT NULL,
+    completed    BIT           NOT NULL,
+    priority     VARCHAR(255)  NOT NULL,
+    category     VARCHAR(255)  NOT NULL,
+    created_at   DATETIME2(6)  NOT NULL,
+    updated_at   DATETIME2(6)  NULL,
+    completed_at DATETIME2(6)  NULL,
+    user_id      BIGINT        NOT NULL,
+    CONSTRAINT pk_tasks PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,23 @@
+-- Índices compostos para os padrões de acesso do TaskRepository.
+-- Todas as consultas filtram por user_id e ordenam/paginam por (task_date, id);
+-- o id (chave do índice clusterizado) já faz parte de todo índice não clusterizado,
+-- mas é declarado explicitamente para deixar a ordem do keyset documentada.
+
+-- Listagem geral, data específica, período, semana, mês, busca por título e /query.
+-- Os campos de filtro e de estatísticas ficam no INCLUDE para que contagens e
+-- agregações por usuário sejam atendidas apenas pelo índice.
+CREATE INDEX ix_tasks_user_date
+    ON tasks (user_id, task_date, id)
+    INCLUDE (completed, priority, category);
+
+-- Listagem por status e contagem de concluídas/pendentes
+CREATE INDEX ix_tasks_user_completed_date
+    ON tasks (user_id, completed, task_date, id);
+
+-- Listagem por prioridade
+CREATE INDEX ix_tasks_user_priority_date
+    ON tasks (user_id, priority, task_date, id);
+
+-- Listagem por categoria
+CREATE INDEX ix_tasks_user_category_date
+    ON tasks (user_id, category, task_date, id);
@@ -0,0 +1,4 @@
+-- Contador de alterações nas tarefas de cada usuário, usado como ETag das listagens
+
+ALTER TABLE users ADD tasks_version BIGINT NOT NULL
+    CONSTRAINT df_users_tasks_version DEFAULT 0;
@@ -0,0 +1,51 @@
+-- IDs de tarefas passam a vir da sequência tasks_seq (otimizador pooled do Hibernate,
+-- incremento 50), permitindo batching de INSERTs via JDBC.
+-- Uma coluna IDENTITY não pode ser alterada no SQL Server: as linhas são movidas para
+-- uma tabela idêntica sem IDENTITY com ALTER TABLE ... SWITCH, que troca apenas os
+-- metadados (sem copiar os dados), preservando os IDs existentes.
+
+-- Mesma estrutura, chave, FK e índices de tasks: requisito do SWITCH
+CREATE TABLE tasks_new (
+    id           BIGINT        NOT NULL,
+    title        VARCHAR(200)  NOT NULL,
+    description  VARCHAR(1000) NULL,
+    task_date    DATE          NOT NULL,
+    completed    BIT           NOT NULL,
+    priority     VARCHAR(255)  NOT NULL,
+    category     VARCHAR(255)  NOT NULL,
+    created_at   DATETIME2(6)  NOT NULL,
+    updated_at   DATETIME2(6)  NULL,
+    completed_at DATETIME2(6)  NULL,
+    user_id      BIGINT        NOT NULL,
+    CONSTRAINT pk_tasks_new PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_new_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX ix_tasks_user_date
+    ON tasks_new (user_id, task_date, id)
+    INCLUDE (completed, priority, category);
+
+CREATE INDEX ix_tasks_user_completed_date
+    ON tasks_new (user_id, completed, task_date, id);
+
+CREATE INDEX ix_tasks_user_priority_date
+    ON tasks_new (user_id, priority, task_date, id);
+
+CREATE INDEX ix_tasks_user_category_date
+    ON tasks_new (user_id, category, task_date, id);
+
+ALTER TABLE tasks SWITCH TO tasks_new;
+
+DROP TABLE tasks;
+
+EXEC sp_rename 'tasks_new', 'tasks';
+EXEC sp_rename 'pk_tasks_new', 'pk_tasks', 'OBJECT';
+EXEC sp_rename 'fk_tasks_new_user', 'fk_tasks_user', 'OBJECT';
+
+-- O otimizador pooled reserva o intervalo (valor - 49 .. valor): a sequência
+-- começa 50 acima do maior ID existente para não colidir com ele
+CREATE SEQUENCE tasks_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+
+-- (bloco dinâmico único: o Flyway executa cada instrução separadamente)
+EXEC ('DECLARE @restart BIGINT = (SELECT ISNULL(MAX(id), 0) + 50 FROM tasks);
+       EXEC (''ALTER SEQUENCE tasks_seq RESTART WITH '' + CAST(@restart AS VARCHAR(20)));');
@@ -0,0 +1,7 @@
+-- Coluna de versão para controle de concorrência otimista (@Version) em tarefas e usuários
+
+ALTER TABLE tasks ADD version BIGINT NOT NULL
+    CONSTRAINT df_tasks_version DEFAULT 0;
+
+ALTER TABLE users ADD version BIGINT NOT NULL
+    CONSTRAINT df_users_version DEFAULT 0;
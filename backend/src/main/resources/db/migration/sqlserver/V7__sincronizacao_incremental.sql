@@ -0,0 +1,33 @@
+-- Sincronização incremental de tarefas (GET /api/tasks/changes).
+-- Cada tarefa guarda a versão das tarefas do usuário (users.tasks_version) em que foi
+-- criada ou alterada pela última vez; como a versão é incrementada sob o bloqueio da
+-- linha do usuário, ela cresce na mesma ordem dos commits e serve de cursor.
+-- Tarefas existentes ficam com 0 e são entregues na primeira sincronização
+-- (a coluna com DEFAULT constante é adicionada sem reescrever a tabela).
+ALTER TABLE tasks ADD change_version BIGINT NOT NULL
+    CONSTRAINT df_tasks_change_version DEFAULT 0;
+
+CREATE INDEX ix_tasks_user_change
+    ON tasks (user_id, change_version, id);
+
+-- Exclusões: um registro por tarefa removida, com a versão em que a exclusão ocorreu.
+-- Sem FK para tasks (a tarefa já não existe) nem para users (removidos junto com o usuário).
+CREATE TABLE task_tombstones (
+    task_id         BIGINT        NOT NULL,
+    user_id         BIGINT        NOT NULL,
+    change_version  BIGINT        NOT NULL,
+    deleted_at      DATETIME2(6)  NOT NULL,
+    CONSTRAINT pk_task_tombstones PRIMARY KEY (task_id)
+);
+
+CREATE INDEX ix_task_tombstones_user_change
+    ON task_tombstones (user_id, change_version, task_id);
+
+-- Limpeza dos registros mais antigos que o período de retenção
+CREATE INDEX ix_task_tombstones_deleted_at
+    ON task_tombstones (deleted_at);
+
+-- Maior versão de exclusão já descartada pela limpeza: cursores anteriores a ela
+-- não podem mais ser atendidos e o cliente precisa de uma sincronização completa
+ALTER TABLE users ADD tasks_sync_floor BIGINT NOT NULL
+    CONSTRAINT df_users_tasks_sync_floor DEFAULT 0;
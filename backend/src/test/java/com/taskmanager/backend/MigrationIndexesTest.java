@@ -0,0 +1,63 @@
+package com.taskmanager.backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Executa as migrations do H2 e verifica os índices das listagens de tarefas
+ */
+class MigrationIndexesTest {
+    
+    private static final String URL = "jdbc:h2:mem:migration_indexes;DB_CLOSE_DELAY=-1";
+    
+    private static final Map<String, String> indexes = new HashMap<>();
+    
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT INDEX_NAME, TABLE_NAME FROM INFORMATION_SCHEMA.INDEXES")) {
+            while (rs.next()) {
+                indexes.put(rs.getString("INDEX_NAME").toLowerCase(), rs.getString("TABLE_NAME").toLowerCase());
+            }
+        }
+    }
+    
+    @Test
+    void createsIndexForTasksByUserAndDate() {
+        assertEquals("tasks", indexes.get("ix_tasks_user_date"));
+    }
+    
+    @Test
+    void createsIndexForTasksByUserStatusAndDate() {
+        assertEquals("tasks", indexes.get("ix_tasks_user_completed_date"));
+    }
+    
+    @Test
+    void createsIndexForTasksByUserPriorityAndDate() {
+        assertEquals("tasks", indexes.get("ix_tasks_user_priority_date"));
+    }
+    
+    @Test
+    void createsIndexForTasksByUserCategoryAndDate() {
+        assertEquals("tasks", indexes.get("ix_tasks_user_category_date"));
+    }
+}
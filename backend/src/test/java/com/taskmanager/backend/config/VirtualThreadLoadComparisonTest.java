@@ -0,0 +1,143 @@
+package com.taskmanager.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.backend.TaskManagerBackendApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Compara, com a mesma carga, a aplicação atendendo em threads de plataforma
+ * (pool do Tomcat limitado) e em threads virtuais (acesso ao banco limitado ao
+ * pool do primário). Requer Java 21.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadComparisonTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadComparisonTest.class);
+    
+    private static final int TOMCAT_THREADS = 8;
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS = 1000;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    
+    @Test
+    void virtualThreadsServeTheSameLoadAsPlatformThreads() throws Exception {
+        LoadResult platform = measure(false);
+        LoadResult virtual = measure(true);
+        
+        log.info("{} requisições, {} clientes: plataforma ({} threads do Tomcat) {} req/s, p99 {} ms; "
+                        + "virtuais {} req/s, p99 {} ms",
+                REQUESTS, CLIENTS, TOMCAT_THREADS,
+                Math.round(platform.throughput()), platform.p99Millis(),
+                Math.round(virtual.throughput()), virtual.p99Millis());
+        
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+    
+    @Test
+    void limiterWrapsOnlyThePrimaryPoolWhenRoutingIsEnabled() {
+        try (ConfigurableApplicationContext context = start(true, "dev", "replica", "test")) {
+            assertInstanceOf(ConcurrencyLimitedDataSource.class, context.getBean("primaryDataSource"));
+            assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean("dataSource"));
+        }
+    }
+    
+    private LoadResult measure(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads, "dev", "test")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = register(baseUrl);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/status/false"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            
+            // Aquecimento
+            runLoad(request, REQUESTS / 4);
+            return runLoad(request, REQUESTS);
+        }
+    }
+    
+    private LoadResult runLoad(HttpRequest request, int total) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(total);
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long start = System.nanoTime();
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    while (remaining.getAndDecrement() > 0) {
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - requestStart);
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                latencies.addAll(future.get());
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            long p99Millis = sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1_000_000;
+            return new LoadResult(total / seconds, p99Millis, errors.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+    
+    private String register(String baseUrl) throws Exception {
+        String json = "{\"name\":\"Carga\",\"email\":\"carga@teste.com\","
+                + "\"password\":\"123456\",\"confirmPassword\":\"123456\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), response.body());
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asText();
+    }
+    
+    private static ConfigurableApplicationContext start(boolean virtualThreads, String... profiles) {
+        return new SpringApplicationBuilder(TaskManagerBackendApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--server.tomcat.threads.min-spare=" + TOMCAT_THREADS);
+    }
+    
+    private record LoadResult(double throughput, long p99Millis, int errors) {
+    }
+}
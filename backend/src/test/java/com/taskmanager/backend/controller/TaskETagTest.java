@@ -0,0 +1,142 @@
+package com.taskmanager.backend.controller;
+
+import com.taskmanager.backend.dto.RegisterRequest;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.UserDTO;
+import com.taskmanager.backend.security.JwtUtil;
+import com.taskmanager.backend.service.TaskService;
+import com.taskmanager.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag das listagens (versão das tarefas do usuário) e o corpo servido pelo cache de
+ * visões: um ETag novo nunca acompanha um corpo antigo, seja a alteração feita por
+ * esta instância ou por outra (que não invalida o cache local), e a versão da tarefa
+ * na listagem é a aceita pelo If-Match
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class TaskETagTest {
+    
+    private static final LocalDate DATE = LocalDate.of(2033, 5, 10);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void freshETagNeverPairsWithAnOldBody() throws Exception {
+        UserDTO user = createUser("etag@teste.com");
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getName());
+        TaskDTO task = createTask(user.getId(), "Original");
+        
+        MvcResult first = getByDate(token, null);
+        String firstETag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(first.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("Original"));
+        mockMvc.perform(get("/api/tasks/date/" + DATE).header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, firstETag))
+                .andExpect(status().isNotModified());
+        
+        // Alteração por esta instância (pelo serviço)
+        task.setTitle("Pelo serviço");
+        taskService.updateTask(task.getId(), task, user.getId(), null);
+        String serviceETag = assertFreshBody(token, firstETag, "Pelo serviço");
+        
+        // Alteração por outra instância: o cache desta não é invalidado
+        jdbcTemplate.update("UPDATE tasks SET title = 'Outra instância', version = version + 1 WHERE id = ?", task.getId());
+        jdbcTemplate.update("UPDATE users SET tasks_version = tasks_version + 1 WHERE id = ?", user.getId());
+        String remoteETag = assertFreshBody(token, serviceETag, "Outra instância");
+        
+        // A versão da tarefa na listagem é a atual: If-Match com ela é aceito, com a anterior é 412
+        long listedVersion = Long.parseLong(getByDate(token, null).getResponse().getContentAsString(StandardCharsets.UTF_8)
+                .replaceAll("(?s).*\"version\":(\\d+).*", "$1"));
+        String body = "{\"title\":\"Com If-Match\",\"taskDate\":\"" + DATE + "\"}";
+        mockMvc.perform(put("/api/tasks/" + task.getId()).header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, "\"" + (listedVersion - 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/tasks/" + task.getId()).header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, "\"" + listedVersion + "\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        assertFreshBody(token, remoteETag, "Com If-Match");
+    }
+    
+    /**
+     * Verifica que o ETag mudou, que o ETag anterior não gera 304 e que o corpo
+     * servido com o novo ETag já contém a alteração
+     * @return Novo ETag
+     */
+    private String assertFreshBody(String token, String previousETag, String expectedTitle) throws Exception {
+        MvcResult result = getByDate(token, previousETag);
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(200, result.getResponse().getStatus());
+        assertNotEquals(previousETag, etag);
+        assertTrue(result.getResponse().getContentAsString(StandardCharsets.UTF_8).contains(expectedTitle));
+        
+        // Repetida com o novo ETag: 304, e sem ele o mesmo corpo novo
+        mockMvc.perform(get("/api/tasks/date/" + DATE).header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/tasks/date/" + DATE).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value(expectedTitle));
+        return etag;
+    }
+    
+    private MvcResult getByDate(String token, String ifNoneMatch) throws Exception {
+        var request = get("/api/tasks/date/" + DATE).header("Authorization", "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn();
+    }
+    
+    private TaskDTO createTask(Long userId, String title) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setTaskDate(DATE);
+        return taskService.createTask(task, userId);
+    }
+    
+    private UserDTO createUser(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("ETag");
+        request.setEmail(email);
+        request.setPassword("123456");
+        request.setConfirmPassword("123456");
+        return userService.createUser(request);
+    }
+}
@@ -0,0 +1,136 @@
+package com.taskmanager.backend.controller;
+
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.security.JwtUtil;
+import com.taskmanager.backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Muitas conexões SSE ociosas com poucas threads no Tomcat: as conexões abertas
+ * não ocupam threads, então todas permanecem ativas e recebem a alteração seguinte
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + TaskEventStreamLoadTest.TOMCAT_THREADS,
+        "tasks.events.max-subscribers-per-user=" + TaskEventStreamLoadTest.CONNECTIONS
+})
+@ActiveProfiles({"dev", "test"})
+class TaskEventStreamLoadTest {
+    
+    static final int TOMCAT_THREADS = 20;
+    static final int CONNECTIONS = 400;
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskEventStreamLoadTest.class);
+    
+    private static final long USER_ID = 1L;
+    
+    @LocalServerPort
+    private int port;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Test
+    void idleStreamsDoNotHoldServerThreads() throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/stream"))
+                .header("Authorization", "Bearer " + jwtUtil.generateToken("joao@teste.com", USER_ID, "João Silva"))
+                .header("Accept", "text/event-stream")
+                .build();
+        
+        CountDownLatch opened = new CountDownLatch(CONNECTIONS);
+        CountDownLatch received = new CountDownLatch(CONNECTIONS);
+        List<CompletableFuture<HttpResponse<Void>>> streams = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            streams.add(httpClient.sendAsync(request,
+                    HttpResponse.BodyHandlers.fromLineSubscriber(new EventSubscriber(opened, received))));
+        }
+        try {
+            assertTrue(opened.await(60, TimeUnit.SECONDS),
+                    (CONNECTIONS - opened.getCount()) + " de " + CONNECTIONS + " streams abertos");
+            double openSeconds = (System.nanoTime() - start) / 1e9;
+            
+            TaskDTO task = new TaskDTO();
+            task.setTitle("Alteração para os streams");
+            task.setTaskDate(LocalDate.now());
+            long published = System.nanoTime();
+            taskService.createTask(task, USER_ID);
+            
+            assertTrue(received.await(60, TimeUnit.SECONDS),
+                    (CONNECTIONS - received.getCount()) + " de " + CONNECTIONS + " streams receberam a alteração");
+            log.info("{} streams SSE com {} threads no Tomcat: abertos em {} ms, evento entregue a todos em {} ms",
+                    CONNECTIONS, TOMCAT_THREADS, Math.round(openSeconds * 1000),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - published));
+        } finally {
+            streams.forEach(stream -> stream.cancel(true));
+        }
+    }
+    
+    /**
+     * Lê o stream linha a linha: o primeiro evento (RESYNC) indica a conexão aberta
+     * e um evento CREATED indica que a alteração chegou
+     */
+    private static final class EventSubscriber implements Flow.Subscriber<String> {
+        
+        private final CountDownLatch opened;
+        private final CountDownLatch received;
+        private boolean open;
+        private boolean done;
+        
+        EventSubscriber(CountDownLatch opened, CountDownLatch received) {
+            this.opened = opened;
+            this.received = received;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            if (!open) {
+                open = true;
+                opened.countDown();
+            }
+            if (!done && line.contains("\"CREATED\"")) {
+                done = true;
+                received.countDown();
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+        }
+        
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.taskmanager.backend.security;
+
+import com.taskmanager.backend.config.PrimaryReads;
+import com.taskmanager.backend.controller.AuthController;
+import com.taskmanager.backend.dto.RegisterRequest;
+import com.taskmanager.backend.dto.UserDTO;
+import com.taskmanager.backend.entity.TokenRevocation;
+import com.taskmanager.backend.repository.TokenRevocationRepository;
+import com.taskmanager.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Revogação de tokens persistida: vale após reinício, chega às demais instâncias
+ * pela recarga periódica e é aplicada também em GET /api/auth/validate
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class TokenRevocationRegistryTest {
+    
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+    
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+    
+    @Autowired
+    private PrimaryReads primaryReads;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private AuthController authController;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Test
+    void revocationByAnotherInstanceIsAppliedAfterRefreshAndByValidate() {
+        UserDTO user = createUser("revogado@teste.com");
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getName());
+        assertEquals(HttpStatus.OK, authController.validateToken("Bearer " + token).getStatusCode());
+        
+        // Gravada por outra instância: esta só a conhece após recarregar
+        revocationRepository.save(new TokenRevocation(user.getId(), System.currentTimeMillis() / 1000 + 60));
+        assertFalse(isRevoked(revocationRegistry, token));
+        
+        revocationRegistry.refresh();
+        assertTrue(isRevoked(revocationRegistry, token));
+        assertEquals(HttpStatus.UNAUTHORIZED, authController.validateToken("Bearer " + token).getStatusCode());
+    }
+    
+    @Test
+    void revocationSurvivesARestart() throws InterruptedException {
+        UserDTO user = createUser("reinicio@teste.com");
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getName());
+        revocationRepository.save(new TokenRevocation(user.getId(), System.currentTimeMillis() / 1000 + 60));
+        
+        // Nova instância do registro (reinício): carrega as revogações gravadas na inicialização
+        TokenRevocationRegistry restarted = new TokenRevocationRegistry(
+                revocationRepository, primaryReads, transactionManager, 86400000L, 3600);
+        try {
+            assertTrue(isRevoked(restarted, token));
+        } finally {
+            restarted.destroy();
+        }
+    }
+    
+    @Test
+    void deletingTheUserPersistsTheRevocation() {
+        UserDTO user = createUser("removido@teste.com");
+        userService.deleteUser(user.getId());
+        
+        assertTrue(revocationRepository.findAll().stream()
+                .anyMatch(revocation -> revocation.getUserId().equals(user.getId())));
+    }
+    
+    private boolean isRevoked(TokenRevocationRegistry registry, String token) {
+        VerifiedToken verified = tokenCache.resolve(token);
+        return registry.isRevoked(verified.getUserId(), verified.getIssuedAt());
+    }
+    
+    private UserDTO createUser(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Revogação");
+        request.setEmail(email);
+        request.setPassword("123456");
+        request.setConfirmPassword("123456");
+        return userService.createUser(request);
+    }
+}
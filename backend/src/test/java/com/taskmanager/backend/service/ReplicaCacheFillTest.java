@@ -0,0 +1,75 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.UserDTO;
+import com.taskmanager.backend.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Com o perfil replica a réplica H2 nunca recebe as escritas (uma réplica
+ * infinitamente atrasada): os caches de tarefas e de usuários devem ser
+ * preenchidos a partir do primário mesmo em leituras somente-leitura
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "replica", "test"})
+class ReplicaCacheFillTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void taskViewsAreFilledFromPrimary() {
+        long userId = 2L;
+        LocalDate date = LocalDate.of(2031, 1, 15);
+        long statsBefore = taskService.getTaskStats(userId).getTotalTasks();
+        Long replicaCount = readOnly().execute(status -> taskRepository.count());
+        
+        TaskDTO task = new TaskDTO();
+        task.setTitle("Criada no primário");
+        task.setTaskDate(date);
+        taskService.createTask(task, userId);
+        
+        // Leituras somente-leitura comuns continuam indo para a réplica, que não vê a tarefa
+        assertEquals(replicaCount, readOnly().execute(status -> taskRepository.count()));
+        
+        List<TaskDTO> tasks = taskService.findByUserAndDate(userId, date);
+        assertEquals(List.of("Criada no primário"), tasks.stream().map(TaskDTO::getTitle).toList());
+        assertEquals(statsBefore + 1, taskService.getTaskStats(userId).getTotalTasks());
+    }
+    
+    @Test
+    void usersAreFilledFromPrimary() {
+        long userId = 1L;
+        UserDTO user = userService.findById(userId).orElseThrow();
+        
+        userService.updateUser(userId, new UserDTO(userId, "João Renomeado", user.getEmail(), null, null));
+        
+        assertEquals("João Renomeado", userService.findById(userId).orElseThrow().getName());
+        assertEquals("João Renomeado", userService.findByEmail(user.getEmail()).orElseThrow().getName());
+    }
+    
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
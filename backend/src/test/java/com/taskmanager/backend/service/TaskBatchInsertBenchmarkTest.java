@@ -0,0 +1,108 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.RegisterRequest;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.entity.Task;
+import com.taskmanager.backend.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara no H2 a vazão (linhas/s) da criação de tarefas uma a uma, com um INSERT
+ * e uma transação por tarefa (como antes da sequência tasks_seq), com a criação em
+ * lote de POST /api/tasks/batch, em que os INSERTs seguem em batches JDBC.
+ * A vazão é apenas registrada no log (o tempo de relógio varia com a máquina); as
+ * tarefas são criadas para um usuário próprio, removido ao final com elas
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class TaskBatchInsertBenchmarkTest {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskBatchInsertBenchmarkTest.class);
+    
+    private static final int ROWS = 500;
+    private static final int WARMUP_ROWS = 100;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    private Long userId;
+    
+    @BeforeEach
+    void createUser() {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Benchmark");
+        request.setEmail("benchmark-" + System.nanoTime() + "@teste.com");
+        request.setPassword("123456");
+        request.setConfirmPassword("123456");
+        userId = userService.createUser(request).getId();
+    }
+    
+    @AfterEach
+    void deleteUser() {
+        // Remove o usuário e, em cascata, as tarefas criadas pelo teste
+        userService.deleteUser(userId);
+    }
+    
+    @Test
+    void comparesBatchInsertWithOneInsertPerTask() {
+        insertOneByOne(tasks(WARMUP_ROWS, "aquecimento"));
+        taskService.createTasks(tasks(WARMUP_ROWS, "aquecimento"), userId);
+        long before = taskRepository.count();
+        
+        long start = System.nanoTime();
+        insertOneByOne(tasks(ROWS, "individual"));
+        double oneByOneSeconds = (System.nanoTime() - start) / 1e9;
+        
+        start = System.nanoTime();
+        List<TaskDTO> created = taskService.createTasks(tasks(ROWS, "lote"), userId);
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+        
+        double oneByOneRate = ROWS / oneByOneSeconds;
+        double batchRate = ROWS / batchSeconds;
+        log.info("Inserção de {} tarefas no H2: uma a uma {} linhas/s, em lote {} linhas/s ({}x)",
+                ROWS, Math.round(oneByOneRate), Math.round(batchRate),
+                String.format("%.1f", batchRate / oneByOneRate));
+        
+        assertEquals(ROWS, created.size());
+        assertEquals(before + 2L * ROWS, taskRepository.count());
+    }
+    
+    private void insertOneByOne(List<TaskDTO> tasks) {
+        for (TaskDTO task : tasks) {
+            taskService.createTask(task, userId);
+        }
+    }
+    
+    private static List<TaskDTO> tasks(int count, String prefix) {
+        LocalDate today = LocalDate.now();
+        List<TaskDTO> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TaskDTO task = new TaskDTO();
+            task.setTitle(prefix + " " + i);
+            task.setTaskDate(today.plusDays(i % 30));
+            task.setPriority(Task.Priority.MEDIUM);
+            task.setCategory(Task.Category.WORK);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
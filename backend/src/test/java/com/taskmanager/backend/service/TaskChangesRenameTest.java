@@ -0,0 +1,57 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.TaskChanges;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Renomear o usuário não regrava as tarefas: a sincronização incremental
+ * envia o nome uma vez por resposta e nenhuma tarefa volta a ser entregue
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class TaskChangesRenameTest {
+    
+    private static final long USER_ID = 2L;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Test
+    void renameIsSentOnceInsteadOfResendingEveryTask() {
+        TaskDTO task = new TaskDTO();
+        task.setTitle("Antes da troca de nome");
+        task.setTaskDate(LocalDate.of(2033, 5, 10));
+        taskService.createTask(task, USER_ID);
+        
+        String cursor = null;
+        TaskChanges page;
+        do {
+            page = taskService.findChanges(USER_ID, cursor, null);
+            page.getTasks().forEach(synced -> assertNull(synced.getUserName()));
+            cursor = page.getCursor();
+        } while (page.isHasMore());
+        
+        UserDTO user = userService.findById(USER_ID).orElseThrow();
+        user.setName("Maria Renomeada");
+        userService.updateUser(USER_ID, user);
+        
+        TaskChanges afterRename = taskService.findChanges(USER_ID, cursor, null);
+        assertTrue(afterRename.getTasks().isEmpty());
+        assertTrue(afterRename.getDeleted().isEmpty());
+        assertEquals("Maria Renomeada", afterRename.getUserName());
+    }
+}
@@ -0,0 +1,136 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.RegisterRequest;
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.dto.TaskPage;
+import com.taskmanager.backend.dto.TaskSeriesDTO;
+import com.taskmanager.backend.entity.TaskSeries;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listagens paginadas com ocorrências virtuais: o cursor percorre tarefas
+ * gravadas e ocorrências sem repetir nem pular nenhuma
+ */
+@SpringBootTest(properties = "tasks.series.list-horizon-days=30")
+@ActiveProfiles({"dev", "test"})
+class TaskOccurrencePagingTest {
+    
+    private static final LocalDate START = LocalDate.of(2040, 3, 1);
+    private static final LocalDate END = LocalDate.of(2040, 3, 12);
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private TaskSeriesService seriesService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Test
+    void periodPagesMatchTheDailyViews() {
+        Long userId = createUser("periodo@teste.com");
+        Long daily = createSeries(userId, TaskSeries.Frequency.DAILY, 1, START, 10);
+        createSeries(userId, TaskSeries.Frequency.WEEKLY, 1, START.plusDays(1), 2);
+        createTask(userId, "Gravada A", START.plusDays(1));
+        createTask(userId, "Gravada B", START.plusDays(1));
+        createTask(userId, "Gravada C", START.plusDays(4));
+        createTask(userId, "Depois das séries", END);
+        seriesService.skipOccurrence(daily, START.plusDays(3), userId);
+        seriesService.toggleOccurrence(daily, START.plusDays(5), true, userId);
+        
+        List<String> expected = new ArrayList<>();
+        for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+            taskService.findByUserAndDate(userId, date).forEach(task -> expected.add(key(task)));
+        }
+        // 10 diárias (uma excluída) + 2 semanais + 4 gravadas
+        assertEquals(15, expected.size());
+        
+        for (int size : new int[] {1, 2, 3, 4, 7, 50}) {
+            List<String> paged = collect(cursor -> taskService.findByUserAndDateRange(userId, START, END, cursor, size));
+            assertEquals(expected, paged, "Tamanho de página " + size);
+        }
+    }
+    
+    @Test
+    void allViewIncludesOccurrencesUpToTheHorizon() {
+        Long userId = createUser("todas@teste.com");
+        LocalDate today = LocalDate.now();
+        createSeries(userId, TaskSeries.Frequency.DAILY, 1, today.plusDays(1), null);
+        createTask(userId, "Depois do horizonte", today.plusDays(400));
+        
+        for (int size : new int[] {7, 100}) {
+            List<String> keys = collect(cursor -> taskService.findAllByUser(userId, cursor, size));
+            // A série sem fim para no horizonte; as tarefas gravadas continuam sendo listadas
+            assertEquals(31, keys.size(), "Tamanho de página " + size);
+            assertTrue(keys.get(0).startsWith(today.plusDays(1) + "|null|"));
+            assertTrue(keys.get(29).startsWith(today.plusDays(30) + "|null|"));
+            assertTrue(keys.get(30).startsWith(today.plusDays(400) + "|"));
+        }
+    }
+    
+    @Test
+    void occurrenceCursorIsRejectedByListingsWithoutOccurrences() {
+        Long userId = createUser("cursor@teste.com");
+        Long series = createSeries(userId, TaskSeries.Frequency.DAILY, 1, START, 3);
+        
+        TaskPage first = taskService.findByUserAndDateRange(userId, START, END, null, 1);
+        assertEquals(series, first.getTasks().get(0).getSeriesId());
+        assertThrows(InvalidCursorException.class,
+                () -> taskService.findByUserAndCompleted(userId, false, first.getNextCursor(), 1));
+    }
+    
+    private static List<String> collect(Function<String, TaskPage> fetch) {
+        List<String> keys = new ArrayList<>();
+        String cursor = null;
+        TaskPage page;
+        do {
+            page = fetch.apply(cursor);
+            page.getTasks().forEach(task -> keys.add(key(task)));
+            cursor = page.getNextCursor();
+        } while (page.hasMore());
+        return keys;
+    }
+    
+    private static String key(TaskDTO task) {
+        return task.getTaskDate() + "|" + task.getId() + "|" + task.getSeriesId();
+    }
+    
+    private Long createUser(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Paginação");
+        request.setEmail(email);
+        request.setPassword("123456");
+        request.setConfirmPassword("123456");
+        return userService.createUser(request).getId();
+    }
+    
+    private Long createSeries(Long userId, TaskSeries.Frequency frequency, int interval, LocalDate startDate, Integer count) {
+        TaskSeriesDTO series = new TaskSeriesDTO();
+        series.setTitle("Série " + frequency);
+        series.setFrequency(frequency);
+        series.setInterval(interval);
+        series.setStartDate(startDate);
+        series.setCount(count);
+        return seriesService.createSeries(series, userId).getId();
+    }
+    
+    private void createTask(Long userId, String title, LocalDate date) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setTaskDate(date);
+        taskService.createTask(task, userId);
+    }
+}
@@ -0,0 +1,174 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.dto.TaskDTO;
+import com.taskmanager.backend.entity.TaskOutboxEvent;
+import com.taskmanager.backend.repository.TaskOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Entrega do outbox: ordem por versão das tarefas de cada usuário, falhas
+ * isoladas por usuário com backoff e eventos esgotados retendo os seguintes
+ */
+@SpringBootTest(properties = {
+        "tasks.outbox.poll-interval-ms=50",
+        "tasks.outbox.backoff-initial-ms=300",
+        "tasks.outbox.max-attempts=3"
+})
+@ActiveProfiles({"dev", "test"})
+class TaskOutboxDispatcherTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private RecordingListener listener;
+    
+    @Test
+    void failureDelaysOnlyThatUsersEvents() {
+        listener.failFor(2L);
+        createTask(2L, "Primeira");
+        createTask(2L, "Segunda");
+        createTask(1L, "Outro usuário");
+        
+        await(() -> listener.titlesOf(1L).contains("Outro usuário"));
+        // A falha é registrada na mesma transação da entrega: aguarda o commit
+        await(() -> pendingOf(2L).stream().anyMatch(row -> row.getAttempts() >= 1));
+        assertTrue(listener.titlesOf(2L).isEmpty());
+        
+        List<TaskOutboxEvent> pending = pendingOf(2L);
+        assertEquals(2, pending.size());
+        assertTrue(pending.get(0).getAttempts() >= 1);
+        assertTrue(pending.get(0).getNextAttemptAt().isAfter(pending.get(0).getCreatedAt()));
+        // Só o primeiro evento do usuário conta tentativas; o seguinte apenas aguarda
+        assertEquals(0, pending.get(1).getAttempts());
+        
+        listener.failFor(null);
+        await(() -> listener.titlesOf(2L).size() == 2);
+        assertEquals(List.of("Primeira", "Segunda"), listener.titlesOf(2L));
+    }
+    
+    @Test
+    void eventsOfAUserAreDeliveredInVersionOrderNotIdOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        // IDs de instâncias diferentes não seguem a ordem das alterações
+        jdbcTemplate.update("INSERT INTO task_outbox (id, user_id, tasks_version, event_type, created_at, attempts, next_attempt_at) "
+                        + "VALUES (1000011, 901, 8, 'BULK', ?, 0, ?), (1000012, 901, 7, 'BULK', ?, 0, ?)",
+                Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(now));
+        
+        await(() -> listener.versionsOf(901L).size() == 2);
+        assertEquals(List.of(7L, 8L), listener.versionsOf(901L));
+    }
+    
+    @Test
+    void exhaustedEventHoldsBackTheUsersLaterEvents() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO task_outbox (id, user_id, tasks_version, event_type, created_at, attempts, next_attempt_at) "
+                        + "VALUES (1000021, 902, 1, 'BULK', ?, 3, ?), (1000022, 902, 2, 'BULK', ?, 0, ?), "
+                        + "(1000023, 903, 1, 'BULK', ?, 0, ?)",
+                Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(now),
+                Timestamp.valueOf(now), Timestamp.valueOf(now));
+        
+        await(() -> !listener.versionsOf(903L).isEmpty());
+        Thread.sleep(300);
+        assertTrue(listener.versionsOf(902L).isEmpty());
+        assertTrue(outboxRepository.existsById(1000022L));
+    }
+    
+    private List<TaskOutboxEvent> pendingOf(Long userId) {
+        return outboxRepository.findAll().stream()
+                .filter(row -> row.getUserId().equals(userId))
+                .sorted(Comparator.comparing(TaskOutboxEvent::getTasksVersion))
+                .toList();
+    }
+    
+    private void createTask(Long userId, String title) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setTaskDate(LocalDate.of(2032, 3, 1));
+        taskService.createTask(task, userId);
+    }
+    
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condição não atingida em 10 segundos");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrompido");
+            }
+        }
+    }
+    
+    @TestConfiguration
+    static class ListenerConfig {
+        
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+    
+    /**
+     * Registra os eventos recebidos e falha para o usuário configurado
+     */
+    static class RecordingListener implements TaskDomainEventListener {
+        
+        private final List<TaskDomainEvent> received = new ArrayList<>();
+        private volatile Long failingUserId;
+        
+        void failFor(Long userId) {
+            this.failingUserId = userId;
+        }
+        
+        @Override
+        public synchronized void onTaskEvents(List<TaskDomainEvent> events) {
+            if (events.get(0).getUserId().equals(failingUserId)) {
+                throw new IllegalStateException("Falha simulada");
+            }
+            received.addAll(events);
+        }
+        
+        synchronized List<String> titlesOf(Long userId) {
+            return received.stream()
+                    .filter(event -> event.getUserId().equals(userId) && event.getTask() != null)
+                    .map(event -> event.getTask().getTitle())
+                    .toList();
+        }
+        
+        synchronized List<Long> versionsOf(Long userId) {
+            return received.stream()
+                    .filter(event -> event.getUserId().equals(userId))
+                    .map(TaskDomainEvent::getTasksVersion)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.taskmanager.backend.service;
+
+import com.taskmanager.backend.entity.TaskSeries;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regras de recorrência: fim de mês, limites dos índices e fim da série
+ */
+class TaskRecurrenceTest {
+    
+    @Test
+    void monthlySeriesFromThe31stClampsToMonthEndWithoutDrifting() {
+        TaskSeries series = series(TaskSeries.Frequency.MONTHLY, 1, LocalDate.of(2023, 1, 31));
+        
+        assertEquals(List.of(
+                        LocalDate.of(2023, 1, 31),
+                        LocalDate.of(2023, 2, 28),
+                        LocalDate.of(2023, 3, 31),
+                        LocalDate.of(2023, 4, 30),
+                        LocalDate.of(2023, 5, 31)),
+                TaskRecurrence.occurrences(series, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 5, 31)));
+        assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31)),
+                TaskRecurrence.occurrences(series, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 31)));
+    }
+    
+    @Test
+    void periodStartingAfterAClampedOccurrenceFindsTheNextOne() {
+        TaskSeries series = series(TaskSeries.Frequency.MONTHLY, 1, LocalDate.of(2023, 1, 31));
+        
+        // A estimativa de índice para 2023-03-01 cai em fevereiro (dia 28), antes do período
+        assertEquals(List.of(LocalDate.of(2023, 3, 31)),
+                TaskRecurrence.occurrences(series, LocalDate.of(2023, 3, 1), LocalDate.of(2023, 4, 15)));
+        assertTrue(TaskRecurrence.occurrences(series, LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 30)).isEmpty());
+    }
+    
+    @Test
+    void periodBoundsAreInclusive() {
+        TaskSeries series = series(TaskSeries.Frequency.WEEKLY, 2, LocalDate.of(2024, 1, 1));
+        
+        assertEquals(List.of(LocalDate.of(2024, 1, 15)),
+                TaskRecurrence.occurrences(series, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15)));
+        assertEquals(List.of(LocalDate.of(2024, 1, 15)),
+                TaskRecurrence.occurrences(series, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 15)));
+        assertTrue(TaskRecurrence.occurrences(series, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 14)).isEmpty());
+        assertTrue(TaskRecurrence.occurrences(series, LocalDate.of(2024, 1, 16), LocalDate.of(2024, 1, 28)).isEmpty());
+    }
+    
+    @Test
+    void periodBeforeTheStartBeginsAtTheFirstOccurrence() {
+        TaskSeries series = series(TaskSeries.Frequency.DAILY, 3, LocalDate.of(2024, 1, 10));
+        
+        assertEquals(List.of(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 13)),
+                TaskRecurrence.occurrences(series, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 15)));
+        assertTrue(TaskRecurrence.occurrences(series, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 9)).isEmpty());
+    }
+    
+    @Test
+    void lastOccurrenceHonoursCountAndUntilDate() {
+        TaskSeries counted = series(TaskSeries.Frequency.MONTHLY, 1, LocalDate.of(2023, 1, 31));
+        counted.setCount(2);
+        assertEquals(LocalDate.of(2023, 2, 28), TaskRecurrence.lastOccurrence(counted));
+        
+        TaskSeries until = series(TaskSeries.Frequency.WEEKLY, 2, LocalDate.of(2024, 1, 1));
+        until.setUntilDate(LocalDate.of(2024, 1, 28));
+        assertEquals(LocalDate.of(2024, 1, 15), TaskRecurrence.lastOccurrence(until));
+        until.setUntilDate(LocalDate.of(2024, 1, 29));
+        assertEquals(LocalDate.of(2024, 1, 29), TaskRecurrence.lastOccurrence(until));
+        
+        // Com os dois preenchidos vale o que terminar primeiro
+        until.setCount(2);
+        assertEquals(LocalDate.of(2024, 1, 15), TaskRecurrence.lastOccurrence(until));
+        
+        assertNull(TaskRecurrence.lastOccurrence(series(TaskSeries.Frequency.DAILY, 1, LocalDate.of(2024, 1, 1))));
+    }
+    
+    @Test
+    void lastOccurrenceRejectsInvalidRules() {
+        TaskSeries zeroInterval = series(TaskSeries.Frequency.DAILY, 0, LocalDate.of(2024, 1, 1));
+        assertThrows(RuntimeException.class, () -> TaskRecurrence.lastOccurrence(zeroInterval));
+        
+        TaskSeries untilBeforeStart = series(TaskSeries.Frequency.DAILY, 1, LocalDate.of(2024, 1, 10));
+        untilBeforeStart.setUntilDate(LocalDate.of(2024, 1, 9));
+        assertThrows(RuntimeException.class, () -> TaskRecurrence.lastOccurrence(untilBeforeStart));
+    }
+    
+    @Test
+    void occurrencesStopAtTheEndOfTheSeriesAndAtTheLimit() {
+        TaskSeries series = series(TaskSeries.Frequency.DAILY, 1, LocalDate.of(2024, 1, 1));
+        series.setEndDate(LocalDate.of(2024, 1, 5));
+        
+        assertEquals(5, TaskRecurrence.occurrences(series, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)).size());
+        assertEquals(List.of(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4)),
+                TaskRecurrence.occurrences(series, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 12, 31), 2));
+        assertTrue(TaskRecurrence.occurrences(series, LocalDate.of(2024, 1, 6), LocalDate.of(2024, 12, 31)).isEmpty());
+    }
+    
+    @Test
+    void isOccurrenceMatchesOnlyTheSeriesDates() {
+        TaskSeries series = series(TaskSeries.Frequency.MONTHLY, 2, LocalDate.of(2023, 12, 31));
+        
+        assertTrue(TaskRecurrence.isOccurrence(series, LocalDate.of(2024, 2, 29)));
+        assertFalse(TaskRecurrence.isOccurrence(series, LocalDate.of(2024, 1, 31)));
+        assertTrue(TaskRecurrence.isOccurrence(series, LocalDate.of(2024, 4, 30)));
+        assertFalse(TaskRecurrence.isOccurrence(series, LocalDate.of(2023, 12, 30)));
+    }
+    
+    private static TaskSeries series(TaskSeries.Frequency frequency, int interval, LocalDate startDate) {
+        TaskSeries series = new TaskSeries();
+        series.setFrequency(frequency);
+        series.setInterval(interval);
+        series.setStartDate(startDate);
+        return series;
+    }
+}
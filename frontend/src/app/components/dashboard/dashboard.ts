@@ -1,12 +1,14 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { Router } from '@angular/router';
 import { AuthService } from '../../services/auth.service';
 import { TaskService } from '../../services/task.service';
+import { TaskEventsService, TaskStreamMessage } from '../../services/task-events.service';
 import { TaskListComponent } from '../task-list/task-list';
 import { TaskFormComponent } from '../task-form/task-form';
 import { User } from '../../models/user.model';
-import { Task, TaskStats } from '../../models/task.model';
+import { Task, TaskChangeEvent, TaskPage, TaskStats } from '../../models/task.model';
+import { Observable, Subscription, map } from 'rxjs';
 
 @Component({
   selector: 'app-dashboard',
@@ -15,7 +17,7 @@ import { Task, TaskStats } from '../../models/task.model';
   templateUrl: './dashboard.html',
   styleUrls: ['./dashboard.scss']
 })
-export class DashboardComponent implements OnInit {
+export class DashboardComponent implements OnInit, OnDestroy {
   currentUser: User | null = null;
   tasks: Task[] = [];
   stats: TaskStats = { totalTasks: 0, completedTasks: 0, pendingTasks: 0 };
@@ -23,46 +25,61 @@ export class DashboardComponent implements OnInit {
   selectedTask: Task | null = null;
   currentView = 'all'; // all, today, week, month
   loading = false;
+  nextCursor: string | null = null;
+  loadingMore = false;
+  // Com o stream conectado as alterações chegam como eventos e são aplicadas sem recarregar a lista
+  streamConnected = false;
+  private changesSubscription: Subscription | null = null;
 
   constructor(
     private authService: AuthService,
     private taskService: TaskService,
+    private taskEvents: TaskEventsService,
     private router: Router
   ) {}
 
   ngOnInit() {
     this.authService.currentUser$.subscribe(user => {
       this.currentUser = user;
+      this.changesSubscription?.unsubscribe();
+      this.changesSubscription = null;
+      this.streamConnected = false;
       if (user) {
         this.loadTasks();
         this.loadStats();
+        this.changesSubscription = this.taskEvents.changes().subscribe(message => this.onStreamMessage(message));
       }
     });
   }
 
+  ngOnDestroy() {
+    this.changesSubscription?.unsubscribe();
+  }
+
   loadTasks() {
     this.loading = true;
     
-    let taskObservable;
+    let taskObservable: Observable<TaskPage>;
     
     switch (this.currentView) {
       case 'today':
         const today = new Date().toISOString().split('T')[0];
-        taskObservable = this.taskService.getTasksByDate(today);
+        taskObservable = this.taskService.getTasksByDate(today).pipe(map(tasks => ({ tasks, nextCursor: null })));
         break;
       case 'week':
-        taskObservable = this.taskService.getTasksForCurrentWeek();
+        taskObservable = this.taskService.getTasksForCurrentWeek().pipe(map(tasks => ({ tasks, nextCursor: null })));
         break;
       case 'month':
-        taskObservable = this.taskService.getTasksForCurrentMonth();
+        taskObservable = this.taskService.getTasksForCurrentMonth().pipe(map(tasks => ({ tasks, nextCursor: null })));
         break;
       default:
         taskObservable = this.taskService.getAllTasks();
     }
 
     taskObservable.subscribe({
-      next: (tasks) => {
-        this.tasks = tasks;
+      next: (page) => {
+        this.tasks = page.tasks;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (error) => {
@@ -72,6 +89,23 @@ export class DashboardComponent implements OnInit {
     });
   }
 
+  loadMoreTasks() {
+    if (!this.nextCursor || this.loadingMore) return;
+    this.loadingMore = true;
+
+    this.taskService.getAllTasks(this.nextCursor).subscribe({
+      next: (page) => {
+        this.tasks = [...this.tasks, ...page.tasks];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        console.error('Erro ao carregar mais tarefas:', error);
+        this.loadingMore = false;
+      }
+    });
+  }
+
   loadStats() {
     this.taskService.getTaskStats().subscribe({
       next: (stats) => {
@@ -98,13 +132,14 @@ export class DashboardComponent implements OnInit {
     this.showTaskForm = true;
   }
 
-  onDeleteTask(taskId: number) {
+  onDeleteTask(task: Task) {
     if (confirm('Tem certeza que deseja excluir esta tarefa?')) {
-      this.taskService.deleteTask(taskId).subscribe({
-        next: () => {
-          this.loadTasks();
-          this.loadStats();
-        },
+      // Ocorrência ainda não gravada de uma série: exclui apenas essa data
+      const operation: Observable<unknown> = task.id === undefined || task.id === null
+        ? this.taskService.skipOccurrence(task.seriesId!, task.occurrenceDate!)
+        : this.taskService.deleteTask(task.id);
+      operation.subscribe({
+        next: () => this.refreshIfDisconnected(),
         error: (error) => {
           console.error('Erro ao excluir tarefa:', error);
         }
@@ -113,11 +148,11 @@ export class DashboardComponent implements OnInit {
   }
 
   onToggleTask(task: Task) {
-    this.taskService.toggleTaskCompletion(task.id!, !task.completed).subscribe({
-      next: () => {
-        this.loadTasks();
-        this.loadStats();
-      },
+    const operation: Observable<unknown> = task.id === undefined || task.id === null
+      ? this.taskService.toggleOccurrence(task.seriesId!, task.occurrenceDate!, !task.completed)
+      : this.taskService.toggleTaskCompletion(task.id, !task.completed, task.version);
+    operation.subscribe({
+      next: () => this.refreshIfDisconnected(),
       error: (error) => {
         console.error('Erro ao alterar status da tarefa:', error);
       }
@@ -127,8 +162,7 @@ export class DashboardComponent implements OnInit {
   onTaskSaved() {
     this.showTaskForm = false;
     this.selectedTask = null;
-    this.loadTasks();
-    this.loadStats();
+    this.refreshIfDisconnected();
   }
 
   onTaskFormCanceled() {
@@ -136,6 +170,107 @@ export class DashboardComponent implements OnInit {
     this.selectedTask = null;
   }
 
+  // Sem stream (desconectado ou reconectando) a lista é recarregada; com stream o evento da alteração atualiza a tela
+  private refreshIfDisconnected() {
+    if (!this.streamConnected) {
+      this.loadTasks();
+      this.loadStats();
+    }
+  }
+
+  private onStreamMessage(message: TaskStreamMessage) {
+    switch (message.kind) {
+      case 'open':
+        this.streamConnected = true;
+        break;
+      case 'closed':
+        this.streamConnected = false;
+        break;
+      case 'change':
+        this.applyChange(message.event);
+        break;
+    }
+  }
+
+  // Aplica o evento na lista e nas estatísticas já carregadas; RESYNC recarrega (GETs condicionais, 304 se nada mudou)
+  private applyChange(event: TaskChangeEvent) {
+    if (event.type === 'RESYNC') {
+      this.loadTasks();
+      this.loadStats();
+      return;
+    }
+    if (event.statsDelta) {
+      this.applyStatsDelta(event.statsDelta);
+    }
+
+    const taskId = event.task?.id ?? event.taskId;
+    const remaining = this.tasks.filter(t => t.id !== taskId);
+    if (event.type === 'DELETED' || !event.task || !this.belongsToView(event.task)) {
+      this.tasks = remaining;
+      return;
+    }
+
+    // Mesma ordem do servidor (taskDate, id); com mais páginas a carregar, tarefas além da última carregada
+    // ficam para o "carregar mais"
+    const task = event.task;
+    const last = remaining[remaining.length - 1];
+    if (this.nextCursor && last && this.compareTasks(task, last) > 0) {
+      this.tasks = remaining;
+      return;
+    }
+    const index = remaining.findIndex(t => this.compareTasks(task, t) < 0);
+    this.tasks = index < 0
+      ? [...remaining, task]
+      : [...remaining.slice(0, index), task, ...remaining.slice(index)];
+  }
+
+  private applyStatsDelta(delta: TaskStats) {
+    const merge = <K extends string>(current?: Record<K, number>, change?: Record<K, number>) => {
+      if (!current || !change) return current;
+      const merged = { ...current };
+      (Object.keys(change) as K[]).forEach(key => (merged[key] = (merged[key] ?? 0) + change[key]));
+      return merged;
+    };
+    this.stats = {
+      totalTasks: this.stats.totalTasks + delta.totalTasks,
+      completedTasks: this.stats.completedTasks + delta.completedTasks,
+      pendingTasks: this.stats.pendingTasks + delta.pendingTasks,
+      byPriority: merge(this.stats.byPriority, delta.byPriority),
+      byCategory: merge(this.stats.byCategory, delta.byCategory)
+    };
+  }
+
+  // Verifica se a tarefa pertence à visão atual (mesmos períodos usados pelo servidor)
+  private belongsToView(task: Task): boolean {
+    const today = new Date().toISOString().split('T')[0];
+    switch (this.currentView) {
+      case 'today':
+        return task.taskDate === today;
+      case 'week': {
+        const now = new Date(`${today}T00:00:00Z`);
+        const monday = new Date(now);
+        monday.setUTCDate(now.getUTCDate() - ((now.getUTCDay() + 6) % 7));
+        const sunday = new Date(monday);
+        sunday.setUTCDate(monday.getUTCDate() + 6);
+        const start = monday.toISOString().split('T')[0];
+        const end = sunday.toISOString().split('T')[0];
+        return task.taskDate >= start && task.taskDate <= end;
+      }
+      case 'month':
+        return task.taskDate.slice(0, 7) === today.slice(0, 7);
+      default:
+        return true;
+    }
+  }
+
+  private compareTasks(a: Task, b: Task): number {
+    if (a.taskDate !== b.taskDate) {
+      return a.taskDate < b.taskDate ? -1 : 1;
+    }
+    // Ocorrências de séries ainda não gravadas (sem id) ficam após as tarefas da mesma data, como no servidor
+    return (a.id ?? Number.MAX_SAFE_INTEGER) - (b.id ?? Number.MAX_SAFE_INTEGER);
+  }
+
   logout() {
     this.authService.logout();
     this.router.navigate(['/login']);
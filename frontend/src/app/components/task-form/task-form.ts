@@ -1,7 +1,8 @@
 import { Component, Input, Output, EventEmitter, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import { Task, Priority, Category } from '../../models/task.model';
+import { Observable } from 'rxjs';
+import { Task, TaskSeries, Priority, Category, Frequency } from '../../models/task.model';
 import { TaskService } from '../../services/task.service';
 
 @Component({
@@ -41,6 +42,21 @@ export class TaskFormComponent implements OnInit {
     { value: Category.OTHER, label: 'Outros' }
   ];
 
+  // Repetição (apenas na criação): sem frequência a tarefa é única
+  repeat: { frequency: Frequency | ''; interval: number; untilDate: string; count: number | null } = {
+    frequency: '',
+    interval: 1,
+    untilDate: '',
+    count: null
+  };
+
+  frequencies = [
+    { value: '', label: 'Não repetir' },
+    { value: Frequency.DAILY, label: 'Diariamente' },
+    { value: Frequency.WEEKLY, label: 'Semanalmente' },
+    { value: Frequency.MONTHLY, label: 'Mensalmente' }
+  ];
+
   loading = false;
   error = '';
 
@@ -62,9 +78,7 @@ export class TaskFormComponent implements OnInit {
       this.loading = true;
       this.error = '';
 
-      const operation = this.task 
-        ? this.taskService.updateTask(this.task.id!, this.formData)
-        : this.taskService.createTask(this.formData);
+      const operation = this.saveOperation();
 
       operation.subscribe({
         next: () => {
@@ -79,6 +93,30 @@ export class TaskFormComponent implements OnInit {
     }
   }
 
+  private saveOperation(): Observable<unknown> {
+    if (this.task) {
+      // Ocorrência de série ainda não gravada: a alteração é gravada como exceção da série
+      return this.task.id === undefined || this.task.id === null
+        ? this.taskService.updateOccurrence(this.task.seriesId!, this.task.occurrenceDate!, this.formData)
+        : this.taskService.updateTask(this.task.id, this.formData);
+    }
+    if (this.repeat.frequency) {
+      const series: TaskSeries = {
+        title: this.formData.title,
+        description: this.formData.description,
+        priority: this.formData.priority,
+        category: this.formData.category,
+        frequency: this.repeat.frequency,
+        interval: this.repeat.interval,
+        startDate: this.formData.taskDate,
+        untilDate: this.repeat.untilDate || null,
+        count: this.repeat.count || null
+      };
+      return this.taskService.createSeries(series);
+    }
+    return this.taskService.createTask(this.formData);
+  }
+
   onCancel() {
     this.taskCanceled.emit();
   }
@@ -13,7 +13,7 @@ import { TaskService } from '../../services/task.service';
 export class TaskListComponent {
   @Input() tasks: Task[] = [];
   @Output() editTask = new EventEmitter<Task>();
-  @Output() deleteTask = new EventEmitter<number>();
+  @Output() deleteTask = new EventEmitter<Task>();
   @Output() toggleTask = new EventEmitter<Task>();
 
   constructor(private taskService: TaskService) {}
@@ -22,14 +22,21 @@ export class TaskListComponent {
     this.editTask.emit(task);
   }
 
-  onDeleteTask(taskId: number) {
-    this.deleteTask.emit(taskId);
+  onDeleteTask(task: Task) {
+    this.deleteTask.emit(task);
   }
 
   onToggleTask(task: Task) {
     this.toggleTask.emit(task);
   }
 
+  // Ocorrências ainda não gravadas de uma série não têm id: identificadas pela série e pela data
+  taskKey(task: Task): string {
+    return task.id !== undefined && task.id !== null
+      ? `task-${task.id}`
+      : `series-${task.seriesId}-${task.occurrenceDate}`;
+  }
+
   getPriorityLabel(priority: Priority): string {
     return this.taskService.getPriorityLabel(priority);
   }
@@ -11,6 +11,10 @@ export interface Task {
   completedAt?: string;
   userId?: number;
   userName?: string;
+  version?: number;
+  // Ocorrência de uma série recorrente; sem id enquanto não for alterada, concluída ou excluída
+  seriesId?: number;
+  occurrenceDate?: string;
 }
 
 export enum Priority {
@@ -29,9 +33,57 @@ export enum Category {
   OTHER = 'OTHER'
 }
 
+export enum Frequency {
+  DAILY = 'DAILY',
+  WEEKLY = 'WEEKLY',
+  MONTHLY = 'MONTHLY'
+}
+
+export interface TaskSeries {
+  id?: number;
+  title: string;
+  description?: string;
+  priority: Priority;
+  category: Category;
+  frequency: Frequency;
+  interval: number;
+  startDate: string;
+  untilDate?: string | null;
+  count?: number | null;
+  endDate?: string | null;
+  version?: number;
+}
+
 export interface TaskStats {
   totalTasks: number;
   completedTasks: number;
   pendingTasks: number;
+  byPriority?: Record<Priority, number>;
+  byCategory?: Record<Category, number>;
+}
+
+export interface TaskPage {
+  tasks: Task[];
+  nextCursor: string | null;
 }
 
+export interface TaskQuery {
+  startDate?: string;
+  endDate?: string;
+  completed?: boolean;
+  priority?: Priority[];
+  category?: Category[];
+  title?: string;
+  sort?: 'asc' | 'desc';
+}
+
+export type TaskChangeType = 'CREATED' | 'UPDATED' | 'DELETED' | 'RESYNC';
+
+// Evento do stream de alterações; RESYNC indica que as tarefas devem ser recarregadas
+export interface TaskChangeEvent {
+  version: number;
+  type: TaskChangeType;
+  taskId?: number;
+  task?: Task;
+  statsDelta?: TaskStats;
+}
@@ -0,0 +1,116 @@
+import { Injectable, NgZone } from '@angular/core';
+import { Observable } from 'rxjs';
+import { AuthService } from './auth.service';
+import { TaskChangeEvent } from '../models/task.model';
+
+export type TaskStreamMessage =
+  | { kind: 'open' }
+  | { kind: 'closed' }
+  | { kind: 'change'; event: TaskChangeEvent };
+
+@Injectable({
+  providedIn: 'root'
+})
+export class TaskEventsService {
+  private streamUrl = 'http://localhost:8080/api/tasks/stream';
+
+  constructor(private authService: AuthService, private zone: NgZone) {}
+
+  // Stream SSE das alterações do usuário. Usa fetch (EventSource não envia o header Authorization)
+  // e reconecta automaticamente enviando Last-Event-ID para receber os eventos perdidos.
+  changes(): Observable<TaskStreamMessage> {
+    return new Observable<TaskStreamMessage>(subscriber => {
+      let controller: AbortController | null = null;
+      let retryTimer: ReturnType<typeof setTimeout> | null = null;
+      let lastEventId: string | null = null;
+      let retryMs = 3000;
+      let stopped = false;
+
+      const emit = (message: TaskStreamMessage) => this.zone.run(() => subscriber.next(message));
+
+      const scheduleReconnect = () => {
+        emit({ kind: 'closed' });
+        if (!stopped) {
+          retryTimer = setTimeout(connect, retryMs);
+        }
+      };
+
+      const connect = async () => {
+        const token = this.authService.getToken();
+        if (!token) {
+          return;
+        }
+        controller = new AbortController();
+        const headers: Record<string, string> = {
+          Authorization: `Bearer ${token}`,
+          Accept: 'text/event-stream'
+        };
+        if (lastEventId) {
+          headers['Last-Event-ID'] = lastEventId;
+        }
+
+        try {
+          const response = await fetch(this.streamUrl, { headers, signal: controller.signal });
+          if (!response.ok || !response.body) {
+            scheduleReconnect();
+            return;
+          }
+          emit({ kind: 'open' });
+
+          const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+          let buffer = '';
+          while (true) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += value;
+            let separator: number;
+            while ((separator = buffer.search(/\r?\n\r?\n/)) >= 0) {
+              const block = buffer.slice(0, separator);
+              buffer = buffer.slice(separator).replace(/^\r?\n\r?\n/, '');
+              this.parseBlock(block, {
+                onId: id => (lastEventId = id),
+                onRetry: ms => (retryMs = ms),
+                onData: data => emit({ kind: 'change', event: JSON.parse(data) as TaskChangeEvent })
+              });
+            }
+          }
+          scheduleReconnect();
+        } catch (error) {
+          if (!stopped) {
+            scheduleReconnect();
+          }
+        }
+      };
+
+      // fetch e os timers rodam fora da zona do Angular; apenas as mensagens entram nela
+      this.zone.runOutsideAngular(() => connect());
+
+      return () => {
+        stopped = true;
+        if (retryTimer) clearTimeout(retryTimer);
+        controller?.abort();
+      };
+    });
+  }
+
+  // Interpreta um bloco SSE (linhas "campo: valor"); comentários (":") são heartbeats
+  private parseBlock(block: string, handlers: {
+    onId: (id: string) => void;
+    onRetry: (ms: number) => void;
+    onData: (data: string) => void;
+  }) {
+    const data: string[] = [];
+    for (const line of block.split(/\r?\n/)) {
+      if (!line || line.startsWith(':')) continue;
+      const colon = line.indexOf(':');
+      const field = colon >= 0 ? line.slice(0, colon) : line;
+      const value = colon >= 0 ? line.slice(colon + 1).replace(/^ /, '') : '';
+      if (field === 'id') handlers.onId(value);
+      else if (field === 'retry' && /^\d+$/.test(value)) handlers.onRetry(Number(value));
+      else if (field === 'data') data.push(value);
+    }
+    if (data.length > 0) {
+      handlers.onData(data.join('\n'));
+    }
+  }
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { Task, TaskStats, Priority, Category } from '../models/task.model';
+import { HttpClient, HttpErrorResponse, HttpHeaders, HttpParams, HttpResponse } from '@angular/common/http';
+import { Observable, catchError, map, of, tap, throwError } from 'rxjs';
+import { Task, TaskPage, TaskQuery, TaskSeries, TaskStats, Priority, Category } from '../models/task.model';
 
 @Injectable({
   providedIn: 'root'
@@ -9,11 +9,14 @@ import { Task, TaskStats, Priority, Category } from '../models/task.model';
 export class TaskService {
   private apiUrl = 'http://localhost:8080/api/tasks';
 
+  // Última resposta de cada consulta com seu ETag, reenviado como If-None-Match
+  private validators = new Map<string, { etag: string; response: HttpResponse<unknown> }>();
+
   constructor(private http: HttpClient) {}
 
   // CRUD básico
-  getAllTasks(): Observable<Task[]> {
-    return this.http.get<Task[]>(this.apiUrl);
+  getAllTasks(cursor?: string): Observable<TaskPage> {
+    return this.getPage(this.apiUrl, {}, cursor);
   }
 
   getTaskById(id: number): Observable<Task> {
@@ -24,54 +27,163 @@ export class TaskService {
     return this.http.post<Task>(this.apiUrl, task);
   }
 
+  createTasks(tasks: Task[]): Observable<Task[]> {
+    return this.http.post<Task[]>(`${this.apiUrl}/batch`, tasks);
+  }
+
+  // Escritas enviam a versão conhecida em If-Match: 412 indica que a tarefa mudou em outra aba/dispositivo
   updateTask(id: number, task: Task): Observable<Task> {
-    return this.http.put<Task>(`${this.apiUrl}/${id}`, task);
+    return this.http.put<Task>(`${this.apiUrl}/${id}`, task, { headers: this.ifMatch(task.version) });
+  }
+
+  // Atualização parcial (JSON Merge Patch): envie apenas os campos alterados
+  patchTask(id: number, changes: Partial<Task>, version?: number): Observable<Task> {
+    const headers = this.ifMatch(version).set('Content-Type', 'application/merge-patch+json');
+    return this.http.patch<Task>(`${this.apiUrl}/${id}`, changes, { headers });
+  }
+
+  deleteTask(id: number, version?: number): Observable<any> {
+    return this.http.delete(`${this.apiUrl}/${id}`, { headers: this.ifMatch(version) });
+  }
+
+  toggleTaskCompletion(id: number, completed: boolean, version?: number): Observable<Task> {
+    return this.http.patch<Task>(`${this.apiUrl}/${id}/toggle`, { completed }, { headers: this.ifMatch(version) });
+  }
+
+  private ifMatch(version?: number): HttpHeaders {
+    const headers = new HttpHeaders();
+    return version !== undefined && version !== null ? headers.set('If-Match', `"${version}"`) : headers;
+  }
+
+  // Operações em lote (retornam o número de tarefas afetadas)
+  setTasksCompleted(ids: number[], completed: boolean): Observable<{ affected: number }> {
+    return this.http.patch<{ affected: number }>(`${this.apiUrl}/bulk/complete`, { ids, completed });
+  }
+
+  deleteTasks(ids: number[]): Observable<{ affected: number }> {
+    return this.http.post<{ affected: number }>(`${this.apiUrl}/bulk/delete`, { ids });
+  }
+
+  deleteCompletedBefore(before: string): Observable<{ affected: number }> {
+    return this.http.delete<{ affected: number }>(`${this.apiUrl}/bulk/completed`, { params: { before } });
   }
 
-  deleteTask(id: number): Observable<any> {
-    return this.http.delete(`${this.apiUrl}/${id}`);
+  rescheduleTasks(startDate: string, endDate: string, newDate: string): Observable<{ affected: number }> {
+    return this.http.patch<{ affected: number }>(`${this.apiUrl}/bulk/reschedule`, { startDate, endDate, newDate });
   }
 
-  toggleTaskCompletion(id: number, completed: boolean): Observable<Task> {
-    return this.http.patch<Task>(`${this.apiUrl}/${id}/toggle`, { completed });
+  // Tarefas recorrentes: as ocorrências chegam em /date, /week e /month com seriesId e sem id;
+  // alterar, concluir ou excluir uma ocorrência grava apenas essa exceção
+  getSeries(): Observable<TaskSeries[]> {
+    return this.http.get<TaskSeries[]>(`${this.apiUrl}/series`);
+  }
+
+  createSeries(series: TaskSeries): Observable<TaskSeries> {
+    return this.http.post<TaskSeries>(`${this.apiUrl}/series`, series);
+  }
+
+  updateSeries(id: number, series: TaskSeries): Observable<TaskSeries> {
+    return this.http.put<TaskSeries>(`${this.apiUrl}/series/${id}`, series);
+  }
+
+  deleteSeries(id: number): Observable<any> {
+    return this.http.delete(`${this.apiUrl}/series/${id}`);
+  }
+
+  updateOccurrence(seriesId: number, occurrenceDate: string, task: Task): Observable<Task> {
+    return this.http.put<Task>(`${this.apiUrl}/series/${seriesId}/occurrences/${occurrenceDate}`, task);
+  }
+
+  toggleOccurrence(seriesId: number, occurrenceDate: string, completed: boolean): Observable<Task> {
+    return this.http.patch<Task>(`${this.apiUrl}/series/${seriesId}/occurrences/${occurrenceDate}/toggle`, { completed });
+  }
+
+  skipOccurrence(seriesId: number, occurrenceDate: string): Observable<any> {
+    return this.http.delete(`${this.apiUrl}/series/${seriesId}/occurrences/${occurrenceDate}`);
   }
 
   // Filtros e buscas
   getTasksByDate(date: string): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/date/${date}`);
+    return this.conditionalGet<Task[]>(`${this.apiUrl}/date/${date}`).pipe(map(response => response.body ?? []));
   }
 
-  getTasksByPeriod(startDate: string, endDate: string): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/period?startDate=${startDate}&endDate=${endDate}`);
+  getTasksByPeriod(startDate: string, endDate: string, cursor?: string): Observable<TaskPage> {
+    return this.getPage(`${this.apiUrl}/period`, { startDate, endDate }, cursor);
   }
 
   getTasksForCurrentWeek(): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/week`);
+    return this.conditionalGet<Task[]>(`${this.apiUrl}/week`).pipe(map(response => response.body ?? []));
   }
 
   getTasksForCurrentMonth(): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/month`);
+    return this.conditionalGet<Task[]>(`${this.apiUrl}/month`).pipe(map(response => response.body ?? []));
+  }
+
+  getTasksByStatus(completed: boolean, cursor?: string): Observable<TaskPage> {
+    return this.getPage(`${this.apiUrl}/status/${completed}`, {}, cursor);
+  }
+
+  getTasksByPriority(priority: Priority, cursor?: string): Observable<TaskPage> {
+    return this.getPage(`${this.apiUrl}/priority/${priority}`, {}, cursor);
   }
 
-  getTasksByStatus(completed: boolean): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/status/${completed}`);
+  getTasksByCategory(category: Category, cursor?: string): Observable<TaskPage> {
+    return this.getPage(`${this.apiUrl}/category/${category}`, {}, cursor);
   }
 
-  getTasksByPriority(priority: Priority): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/priority/${priority}`);
+  searchTasksByTitle(title: string, cursor?: string): Observable<TaskPage> {
+    return this.getPage(`${this.apiUrl}/search`, { title }, cursor);
   }
 
-  getTasksByCategory(category: Category): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/category/${category}`);
+  // Busca combinando filtros em uma única consulta no servidor
+  queryTasks(query: TaskQuery, cursor?: string): Observable<TaskPage> {
+    const params: Record<string, string | string[]> = {};
+    Object.entries(query).forEach(([key, value]) => {
+      if (value === undefined || value === null || value === '') return;
+      params[key] = Array.isArray(value) ? value.map(String) : String(value);
+    });
+    return this.getPage(`${this.apiUrl}/query`, params, cursor);
   }
 
-  searchTasksByTitle(title: string): Observable<Task[]> {
-    return this.http.get<Task[]>(`${this.apiUrl}/search?title=${title}`);
+  // Listagens paginadas: o cursor da próxima página vem no header X-Next-Cursor
+  private getPage(url: string, query: Record<string, string | string[]>, cursor?: string): Observable<TaskPage> {
+    let params = new HttpParams({ fromObject: query });
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.conditionalGet<Task[]>(url, params).pipe(
+      map(response => ({
+        tasks: response.body ?? [],
+        nextCursor: response.headers.get('X-Next-Cursor')
+      }))
+    );
   }
 
   // Estatísticas
   getTaskStats(): Observable<TaskStats> {
-    return this.http.get<TaskStats>(`${this.apiUrl}/stats`);
+    return this.conditionalGet<TaskStats>(`${this.apiUrl}/stats`).pipe(map(response => response.body as TaskStats));
+  }
+
+  // GET condicional: envia o ETag da última resposta e, em caso de 304, reutiliza essa resposta
+  private conditionalGet<T>(url: string, params = new HttpParams()): Observable<HttpResponse<T>> {
+    const key = `${url}?${params.toString()}`;
+    const cached = this.validators.get(key) as { etag: string; response: HttpResponse<T> } | undefined;
+    const headers = cached ? new HttpHeaders({ 'If-None-Match': cached.etag }) : undefined;
+
+    return this.http.get<T>(url, { params, headers, observe: 'response' }).pipe(
+      tap(response => {
+        const etag = response.headers.get('ETag');
+        if (etag) {
+          this.validators.set(key, { etag, response });
+        }
+      }),
+      catchError(error => {
+        if (error instanceof HttpErrorResponse && error.status === 304 && cached) {
+          return of(cached.response);
+        }
+        return throwError(() => error);
+      })
+    );
   }
 
   // Métodos utilitários